@@ -0,0 +1,73 @@
+package com.ecommerce.api.benchmark;
+
+import com.ecommerce.api.entity.*;
+import com.ecommerce.api.enums.OrderStatus;
+import com.ecommerce.api.enums.Role;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Detached entities shaped like the ones the services work with.
+ */
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    static User user() {
+        return User.builder()
+                .id(42L)
+                .username("bench-user")
+                .email("bench-user@example.com")
+                .password("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z4y8S1xKzS9z7F8Kx9Yp6hS.")
+                .role(Role.CUSTOMER)
+                .build();
+    }
+
+    static Product product(long id) {
+        Product product = Product.builder()
+                .id(id)
+                .name("Product " + id)
+                .description("Description of product " + id + " with a few more words in it")
+                .price(BigDecimal.valueOf(100 + id * 37 % 9_900, 2))
+                .stockQuantity(100)
+                .build();
+        product.setCreatedAt(LocalDateTime.of(2024, 1, 1, 12, 0));
+        product.setUpdatedAt(LocalDateTime.of(2024, 1, 2, 12, 0));
+        return product;
+    }
+
+    static Cart cart(int lines) {
+        Cart cart = Cart.builder().id(1L).user(user()).build();
+        for (int i = 1; i <= lines; i++) {
+            cart.addItem(CartItem.builder()
+                    .id((long) i)
+                    .product(product(i))
+                    .quantity(1 + i % 3)
+                    .build());
+        }
+        return cart;
+    }
+
+    static Order order(int lines) {
+        Cart cart = cart(lines);
+        Order order = Order.builder()
+                .id(1L)
+                .user(cart.getUser())
+                .totalAmount(cart.getTotalAmount())
+                .status(OrderStatus.PENDING)
+                .build();
+        order.setCreatedAt(LocalDateTime.of(2024, 1, 3, 12, 0));
+        order.setUpdatedAt(LocalDateTime.of(2024, 1, 3, 12, 0));
+        for (CartItem cartItem : cart.getItems()) {
+            order.addOrderItem(OrderItem.builder()
+                    .id(cartItem.getId())
+                    .product(cartItem.getProduct())
+                    .quantity(cartItem.getQuantity())
+                    .price(cartItem.getProduct().getPrice())
+                    .build());
+        }
+        return order;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,100 @@
+package com.ecommerce.api.benchmark;
+
+import com.ecommerce.api.enums.Role;
+import com.ecommerce.api.security.JwtTokenProvider;
+import com.ecommerce.api.security.TokenRevocationList;
+import com.ecommerce.api.security.UserPrincipal;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of turning a bearer token into claims: the original path
+ * (new key and parser, token parsed twice), a reused parser, and the cached
+ * verification step used by the filter. Also covers issuing a token at login
+ * and building the principal from verified claims.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtTokenProviderBenchmark {
+
+    static final String SECRET = "benchmark-secret-key-that-is-long-enough-for-hmac-sha-256-signing";
+
+    private JwtTokenProvider tokenProvider;
+    private JwtParser sharedParser;
+    private UsernamePasswordAuthenticationToken authentication;
+    private String token;
+    private Claims claims;
+
+    static JwtTokenProvider newTokenProvider() {
+        TokenRevocationList revocationList = new TokenRevocationList();
+        ReflectionTestUtils.setField(revocationList, "jwtExpirationMs", 3_600_000L);
+
+        JwtTokenProvider provider = new JwtTokenProvider(revocationList, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(provider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(provider, "jwtExpirationMs", 3_600_000L);
+        ReflectionTestUtils.setField(provider, "cacheMaxSize", 10_000L);
+        ReflectionTestUtils.setField(provider, "cacheTtlSeconds", 300L);
+        provider.init();
+        return provider;
+    }
+
+    static UsernamePasswordAuthenticationToken authentication() {
+        UserPrincipal principal = new UserPrincipal(42L, "bench-user", null, Role.CUSTOMER);
+        return new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+
+    @Setup
+    public void setUp() {
+        tokenProvider = newTokenProvider();
+        sharedParser = Jwts.parser().verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes())).build();
+        authentication = authentication();
+        token = tokenProvider.generateToken(authentication);
+        claims = tokenProvider.verifyToken(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenProvider.generateToken(authentication);
+    }
+
+    @Benchmark
+    public String parseTwiceWithNewParser() {
+        Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseSignedClaims(token);
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload()
+                .getSubject();
+    }
+
+    @Benchmark
+    public Claims parseOnceWithSharedParser() {
+        return sharedParser.parseSignedClaims(token).getPayload();
+    }
+
+    @Benchmark
+    public Claims verifyToken() {
+        return tokenProvider.verifyToken(token);
+    }
+
+    @Benchmark
+    public UserPrincipal principalFromClaims() {
+        return tokenProvider.getPrincipal(claims);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,100 @@
+package com.ecommerce.api.benchmark;
+
+import com.ecommerce.api.dto.response.CartResponse;
+import com.ecommerce.api.entity.Cart;
+import com.ecommerce.api.exception.AuthenticationBusyException;
+import com.ecommerce.api.security.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A login storm next to regular API work on the same cores. The login threads
+ * check BCrypt passwords either inline, as on the request thread, or through
+ * the bounded hashing pool; the api threads map carts to responses. Compare
+ * the api percentiles between the two modes, and the accepted and rejected
+ * login counts in bounded mode.
+ * <p>
+ * Use more login threads than cores to create contention, e.g. with 8 cores:
+ * ./mvnw -Pbenchmark test-compile exec:exec -Djmh.args="LoginHashing -tg 16,4"
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoginHashingBenchmark {
+
+    private static final String PASSWORD = "correct horse battery staple";
+
+    @Param({"inline", "bounded"})
+    private String mode;
+
+    @Param("10")
+    private int strength;
+
+    @Param("2")
+    private int hashingThreads;
+
+    @Param("32")
+    private int queueCapacity;
+
+    private PasswordEncoder encoder;
+    private String storedHash;
+    private Cart cart;
+
+    @Setup
+    public void setUp() {
+        encoder = mode.equals("bounded")
+                ? new BoundedPasswordEncoder(strength, hashingThreads, queueCapacity, 1000, new SimpleMeterRegistry())
+                : new BCryptPasswordEncoder(strength);
+        storedHash = new BCryptPasswordEncoder(strength).encode(PASSWORD);
+        cart = Fixtures.cart(10);
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (encoder instanceof BoundedPasswordEncoder boundedEncoder) {
+            boundedEncoder.shutdown();
+        }
+    }
+
+    @Benchmark
+    @Group("contention")
+    @GroupThreads(8)
+    public boolean login(LoginOutcomes outcomes) {
+        try {
+            boolean matched = encoder.matches(PASSWORD, storedHash);
+            outcomes.accepted++;
+            return matched;
+        } catch (AuthenticationBusyException e) {
+            outcomes.rejected++;
+            return false;
+        }
+    }
+
+    @Benchmark
+    @Group("contention")
+    @GroupThreads(2)
+    public CartResponse api() {
+        return CartResponse.from(cart);
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class LoginOutcomes {
+
+        public long accepted;
+        public long rejected;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            accepted = 0;
+            rejected = 0;
+        }
+    }
+}
\ No newline at end of file
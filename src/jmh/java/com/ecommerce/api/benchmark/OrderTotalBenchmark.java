@@ -0,0 +1,51 @@
+package com.ecommerce.api.benchmark;
+
+import com.ecommerce.api.dto.response.CartResponse;
+import com.ecommerce.api.dto.response.OrderResponse;
+import com.ecommerce.api.entity.Cart;
+import com.ecommerce.api.entity.Order;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BigDecimal arithmetic done per checkout: the cart total that becomes the
+ * order total, and the per-line subtotals computed when mapping carts and
+ * orders to responses.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderTotalBenchmark {
+
+    @Param({"1", "10", "50"})
+    private int lines;
+
+    private Cart cart;
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        cart = Fixtures.cart(lines);
+        order = Fixtures.order(lines);
+    }
+
+    @Benchmark
+    public BigDecimal cartTotal() {
+        return cart.getTotalAmount();
+    }
+
+    @Benchmark
+    public CartResponse cartResponse() {
+        return CartResponse.from(cart);
+    }
+
+    @Benchmark
+    public OrderResponse orderResponse() {
+        return OrderResponse.from(order);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,97 @@
+package com.ecommerce.api.benchmark;
+
+import com.ecommerce.api.enums.Role;
+import com.ecommerce.api.security.UserPrincipal;
+import com.ecommerce.api.web.RateLimitFilter;
+import com.ecommerce.api.web.RateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of the rate limiter: disabled, on a path no route matches,
+ * with every thread hitting the same bucket, and with users spread over many
+ * buckets. Limits are set high enough that no request is turned away, so this
+ * measures the check itself, including CAS contention on a shared bucket.
+ * <p>
+ * ./mvnw -Pbenchmark test-compile exec:exec -Djmh.args="RateLimitFilter -t 8"
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RateLimitFilterBenchmark {
+
+    private static final FilterChain NO_OP = (request, response) -> {
+    };
+
+    @Param({"disabled", "unmatched", "shared-bucket", "many-buckets"})
+    private String mode;
+
+    @Param("10000")
+    private int users;
+
+    private RateLimitFilter filter;
+
+    @Setup
+    public void setUp() {
+        RateLimitProperties.Route route = new RateLimitProperties.Route();
+        route.setPattern("/api/cart/**");
+        route.setMethods(List.of("POST"));
+        route.setCapacity(Integer.MAX_VALUE / 2);
+        route.setRefillPerSecond(1_000_000_000);
+
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setEnabled(!mode.equals("disabled"));
+        properties.setRoutes(List.of(route));
+
+        filter = new RateLimitFilter(properties, JsonMapper.builder().build(), new SimpleMeterRegistry());
+        filter.init();
+    }
+
+    @State(Scope.Thread)
+    public static class Client {
+
+        private MockHttpServletRequest request;
+        private MockHttpServletResponse response;
+        private UsernamePasswordAuthenticationToken[] authentications;
+        private int next;
+
+        @Setup
+        public void setUp(RateLimitFilterBenchmark benchmark) {
+            request = new MockHttpServletRequest("POST",
+                    benchmark.mode.equals("unmatched") ? "/api/orders" : "/api/cart/items");
+            response = new MockHttpServletResponse();
+            int count = benchmark.mode.equals("many-buckets") ? benchmark.users : 1;
+            authentications = new UsernamePasswordAuthenticationToken[count];
+            for (int i = 0; i < count; i++) {
+                UserPrincipal principal = UserPrincipal.fromClaims((long) i, "user" + i, Role.CUSTOMER);
+                authentications[i] = new UsernamePasswordAuthenticationToken(
+                        principal, null, principal.getAuthorities());
+            }
+        }
+
+        @TearDown
+        public void tearDown() {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Benchmark
+    public int filter(Client client) throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(
+                client.authentications[client.next++ % client.authentications.length]);
+        filter.doFilter(client.request, client.response, NO_OP);
+        return client.response.getStatus();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,120 @@
+package com.ecommerce.api.benchmark;
+
+import com.ecommerce.api.dto.response.OrderResponse;
+import com.ecommerce.api.entity.Order;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.concurrent.*;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Throughput and latency percentiles of a blocking request handler on the
+ * default Tomcat-sized platform pool versus one virtual thread per request,
+ * with and without the connection bulkhead. Each request waits on simulated
+ * remote I/O, then holds one of the pool's connections for a simulated query,
+ * then maps and serializes a real order response. That is how cart and order
+ * handlers spend their time. As in ConnectionBulkhead, the bulkhead permit is
+ * only held around the transaction, and a request that cannot get one within
+ * max-wait is turned away; those are counted as rejected.
+ * <p>
+ * The JMH threads play the clients, so concurrency is set with -t. The virtual
+ * modes need Java 21+:
+ * ./mvnw -Pbenchmark test-compile exec:exec -Djmh.args="RequestExecution -t 1000"
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(1000)
+@State(Scope.Benchmark)
+public class RequestExecutionBenchmark {
+
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    @Param({"platform", "virtual", "virtual-bulkhead"})
+    private String mode;
+
+    @Param("10")
+    private int connectionPoolSize;
+
+    @Param("10")
+    private int bulkheadPermits;
+
+    @Param("2")
+    private int remoteIoMillis;
+
+    @Param("1")
+    private int queryMillis;
+
+    @Param("500")
+    private int maxWaitMillis;
+
+    private ExecutorService platformPool;
+    private VirtualThreadTaskExecutor virtualExecutor;
+    private Semaphore connections;
+    private Semaphore bulkhead;
+    private ObjectMapper objectMapper;
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        connections = new Semaphore(connectionPoolSize, true);
+        bulkhead = mode.endsWith("bulkhead") ? new Semaphore(bulkheadPermits, true) : null;
+        objectMapper = JsonMapper.builder().build();
+        order = Fixtures.order(5);
+        if (mode.equals("platform")) {
+            platformPool = Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+        } else {
+            virtualExecutor = new VirtualThreadTaskExecutor("bench-request-");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (platformPool != null) {
+            platformPool.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    public Object handleRequest(Outcomes outcomes) throws Exception {
+        Future<byte[]> response = platformPool != null
+                ? platformPool.submit(this::handle)
+                : virtualExecutor.submit(this::handle);
+        byte[] body = response.get();
+        if (body == null) {
+            outcomes.rejected++;
+        }
+        return body;
+    }
+
+    private byte[] handle() throws InterruptedException {
+        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(remoteIoMillis));
+        if (bulkhead != null && !bulkhead.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS)) {
+            return null;
+        }
+        try {
+            connections.acquire();
+            try {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(queryMillis));
+            } finally {
+                connections.release();
+            }
+        } finally {
+            if (bulkhead != null) {
+                bulkhead.release();
+            }
+        }
+        return objectMapper.writeValueAsBytes(OrderResponse.from(order));
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+        public long rejected;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,74 @@
+package com.ecommerce.api.benchmark;
+
+import com.ecommerce.api.dto.response.CartResponse;
+import com.ecommerce.api.dto.response.CursorPage;
+import com.ecommerce.api.dto.response.OrderResponse;
+import com.ecommerce.api.dto.response.ProductResponse;
+import com.ecommerce.api.entity.Product;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the bodies returned by the cart, order and product
+ * endpoints.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseSerializationBenchmark {
+
+    @Param({"1", "10", "50"})
+    private int lines;
+
+    private ObjectMapper objectMapper;
+    private CartResponse cart;
+    private OrderResponse order;
+    private ProductResponse product;
+    private CursorPage<ProductResponse> productPage;
+
+    @Setup
+    public void setUp() {
+        objectMapper = JsonMapper.builder().build();
+        cart = CartResponse.from(Fixtures.cart(lines));
+        order = OrderResponse.from(Fixtures.order(lines));
+        product = response(Fixtures.product(1));
+
+        List<ProductResponse> products = new ArrayList<>();
+        for (int i = 1; i <= 20; i++) {
+            products.add(response(Fixtures.product(i)));
+        }
+        productPage = new CursorPage<>(products, "djF8MjA", products.size());
+    }
+
+    private static ProductResponse response(Product product) {
+        return ProductResponse.from(product, product.getStockQuantity());
+    }
+
+    @Benchmark
+    public byte[] cart() {
+        return objectMapper.writeValueAsBytes(cart);
+    }
+
+    @Benchmark
+    public byte[] order() {
+        return objectMapper.writeValueAsBytes(order);
+    }
+
+    @Benchmark
+    public byte[] product() {
+        return objectMapper.writeValueAsBytes(product);
+    }
+
+    @Benchmark
+    public byte[] productPage() {
+        return objectMapper.writeValueAsBytes(productPage);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,64 @@
+package com.ecommerce.api.benchmark;
+
+import com.ecommerce.api.entity.User;
+import com.ecommerce.api.repository.UserRepository;
+import com.ecommerce.api.security.UserDetailsServiceImpl;
+import com.ecommerce.api.security.UserPrincipal;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building UserDetails and authorities for a loaded user, without the
+ * repository round trip: the service as it runs today and the per-call
+ * authority list it used to create.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserDetailsBenchmark {
+
+    private User user;
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Setup
+    public void setUp() {
+        user = Fixtures.user();
+        Optional<User> found = Optional.of(user);
+        UserRepository userRepository = (UserRepository) Proxy.newProxyInstance(
+                UserRepository.class.getClassLoader(),
+                new Class<?>[]{UserRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findByUsername")) {
+                        return found;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        userDetailsService = new UserDetailsServiceImpl(userRepository);
+    }
+
+    @Benchmark
+    public UserDetails loadUserByUsername() {
+        return userDetailsService.loadUserByUsername(user.getUsername());
+    }
+
+    @Benchmark
+    public Collection<? extends GrantedAuthority> principalAuthorities() {
+        return UserPrincipal.fromUser(user).getAuthorities();
+    }
+
+    @Benchmark
+    public Collection<? extends GrantedAuthority> authoritiesPerCall() {
+        return Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()));
+    }
+}
\ No newline at end of file
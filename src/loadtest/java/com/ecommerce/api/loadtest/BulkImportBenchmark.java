@@ -0,0 +1,174 @@
+package com.ecommerce.api.loadtest;
+
+import com.ecommerce.api.MiniEcommerceApiApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Times a catalog sync against the embedded database: importing products in
+ * bulk as CSV and as JSON, applying a stock delta to each of them, and, for
+ * comparison, creating products one request at a time as the ERP did before.
+ * <p>
+ * ./mvnw -Ploadtest test-compile exec:exec -Dloadtest.main=com.ecommerce.api.loadtest.BulkImportBenchmark \
+ * -Dloadtest.args="--products=100000 --single=2000"
+ */
+public final class BulkImportBenchmark {
+
+    private static final String PASSWORD = "bulk-import-password";
+    private static final JsonMapper JSON_MAPPER = JsonMapper.builder().build();
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final URI baseUri;
+    private String token;
+
+    private BulkImportBenchmark(URI baseUri) {
+        this.baseUri = baseUri;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int products = 100_000;
+        int single = 2_000;
+        List<String> applicationArgs = new ArrayList<>(List.of(LoadTestRunner.EMBEDDED_DATABASE_ARGS));
+        for (String arg : args) {
+            if (arg.startsWith("--products=")) {
+                products = Integer.parseInt(arg.substring("--products=".length()));
+            } else if (arg.startsWith("--single=")) {
+                single = Integer.parseInt(arg.substring("--single=".length()));
+            } else {
+                applicationArgs.add(arg);
+            }
+        }
+
+        try (ConfigurableApplicationContext context = SpringApplication.run(
+                MiniEcommerceApiApplication.class, applicationArgs.toArray(String[]::new))) {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            BulkImportBenchmark benchmark = new BulkImportBenchmark(URI.create("http://localhost:" + port));
+            benchmark.signIn();
+
+            System.out.printf("%-22s %9s %8s %9s %11s%n", "phase", "rows", "failed", "seconds", "rows/s");
+            benchmark.bulk("import csv", "/api/products/admin/bulk", "text/csv", csvProducts(products, "csv"), products);
+            benchmark.bulk("import json", "/api/products/admin/bulk", "application/json",
+                    jsonProducts(products, "json"), products);
+
+            List<Long> ids = benchmark.productIds();
+            benchmark.bulk("stock deltas csv", "/api/products/admin/bulk/stock", "text/csv", csvDeltas(ids), ids.size());
+            if (single > 0) {
+                benchmark.oneByOne(single);
+            }
+        }
+    }
+
+    private void signIn() {
+        Map<String, Object> registration = Map.of(
+                "username", "bulk-admin", "email", "bulk-admin@example.com", "password", PASSWORD);
+        send(post("/api/auth/register-admin", "application/json", JSON_MAPPER.writeValueAsBytes(registration)));
+        JsonNode login = send(post("/api/auth/login", "application/json", JSON_MAPPER.writeValueAsBytes(
+                Map.of("username", "bulk-admin", "password", PASSWORD))));
+        token = login.get("token").asString();
+    }
+
+    private void bulk(String phase, String path, String contentType, byte[] body, int rows) {
+        long start = System.nanoTime();
+        JsonNode result = send(post(path, contentType, body));
+        report(phase, rows, result.get("failed").asLong(), System.nanoTime() - start);
+    }
+
+    private void oneByOne(int count) {
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> product = Map.of(
+                    "name", "Single product " + i,
+                    "description", "Created one request at a time",
+                    "price", 10.5,
+                    "stockQuantity", 100);
+            send(post("/api/products/admin", "application/json", JSON_MAPPER.writeValueAsBytes(product)));
+        }
+        report("one request per row", count, 0, System.nanoTime() - start);
+    }
+
+    private List<Long> productIds() {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            String path = "/api/products?size=100" + (cursor == null ? "" : "&cursor=" + cursor);
+            JsonNode page = send(HttpRequest.newBuilder(baseUri.resolve(path))
+                    .header("Authorization", "Bearer " + token)
+                    .GET()
+                    .build());
+            page.get("items").forEach(item -> ids.add(item.get("id").asLong()));
+            JsonNode nextCursor = page.get("nextCursor");
+            cursor = nextCursor == null || nextCursor.isNull() ? null : nextCursor.asString();
+        } while (cursor != null);
+        return ids;
+    }
+
+    private HttpRequest post(String path, String contentType, byte[] body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(Duration.ofMinutes(30))
+                .header("Content-Type", contentType)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    private JsonNode send(HttpRequest request) {
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() >= 400) {
+                throw new IllegalStateException(request.uri() + " returned " + response.statusCode()
+                        + ": " + response.body());
+            }
+            return JSON_MAPPER.readTree(response.body());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void report(String phase, int rows, long failed, long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        System.out.printf("%-22s %9d %8d %9.2f %11.0f%n", phase, rows, failed, seconds, rows / seconds);
+    }
+
+    private static byte[] csvProducts(int count, String prefix) {
+        StringBuilder csv = new StringBuilder("name,description,price,stockQuantity\n");
+        for (int i = 0; i < count; i++) {
+            csv.append(prefix).append(" product ").append(i)
+                    .append(",\"Imported product, number ").append(i).append("\",")
+                    .append(5 + i % 200).append(".99,")
+                    .append(100 + i % 50).append('\n');
+        }
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] jsonProducts(int count, String prefix) {
+        List<Map<String, Object>> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            products.add(Map.of(
+                    "name", prefix + " product " + i,
+                    "description", "Imported product, number " + i,
+                    "price", 5 + i % 200 + 0.99,
+                    "stockQuantity", 100 + i % 50));
+        }
+        return JSON_MAPPER.writeValueAsBytes(products);
+    }
+
+    private static byte[] csvDeltas(List<Long> ids) {
+        StringBuilder csv = new StringBuilder("productId,delta\n");
+        for (int i = 0; i < ids.size(); i++) {
+            csv.append(ids.get(i)).append(',').append(i % 2 == 0 ? 10 : -5).append('\n');
+        }
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
\ No newline at end of file
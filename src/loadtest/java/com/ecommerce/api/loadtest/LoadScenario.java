@@ -0,0 +1,262 @@
+package com.ecommerce.api.loadtest;
+
+import com.ecommerce.api.util.CursorCodec;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The requests a shopper sends, issued asynchronously against a running
+ * instance. Sessions are pre-registered customers; a session is used by one
+ * operation at a time where possible so a single cart is not hammered
+ * concurrently.
+ */
+final class LoadScenario {
+
+    static final Set<String> OPERATIONS = Set.of(
+            "browse", "product", "search", "add-to-cart", "checkout", "list-orders", "login", "register");
+
+    private static final String PASSWORD = "loadtest-password";
+    private static final String[] ADJECTIVES = {
+            "wireless", "organic", "compact", "vintage", "smart", "leather", "portable", "classic"};
+    private static final String[] NOUNS = {
+            "headphones", "coffee", "backpack", "lamp", "keyboard", "jacket", "speaker", "bottle"};
+
+    private final HttpClient httpClient;
+    private final URI baseUri;
+    private final Duration timeout;
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+    private final EndpointStats overall = new EndpointStats();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger registrations = new AtomicInteger();
+    private final List<Session> sessions = new ArrayList<>();
+    private final List<Long> productIds = new ArrayList<>();
+
+    LoadScenario(URI baseUri, Duration timeout) {
+        this.baseUri = baseUri;
+        this.timeout = timeout;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+    }
+
+    /**
+     * Creates the catalog through the admin API and registers and logs in the
+     * customer sessions. Not measured.
+     */
+    void seed(int products, int users) {
+        String adminToken = register("lt-admin", "/api/auth/register-admin").join();
+
+        List<CompletableFuture<Long>> created = new ArrayList<>();
+        for (int i = 0; i < products; i++) {
+            String name = ADJECTIVES[i % ADJECTIVES.length] + " " + NOUNS[(i / ADJECTIVES.length) % NOUNS.length] + " " + i;
+            Map<String, Object> body = Map.of(
+                    "name", name,
+                    "description", "A " + name + " for the load test catalog",
+                    "price", 5 + i % 200 + 0.99,
+                    "stockQuantity", 1_000_000);
+            created.add(httpClient.sendAsync(post("/api/products/admin", body, adminToken), HttpResponse.BodyHandlers.ofString())
+                    .thenApply(response -> read(response).get("id").asLong()));
+            if (created.size() % 50 == 0) {
+                CompletableFuture.allOf(created.toArray(CompletableFuture[]::new)).join();
+            }
+        }
+        created.forEach(future -> productIds.add(future.join()));
+
+        List<CompletableFuture<Session>> registered = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            String username = "lt-user-" + i;
+            registered.add(register(username, "/api/auth/register")
+                    .thenApply(token -> new Session(username, token)));
+            if (registered.size() % 50 == 0) {
+                CompletableFuture.allOf(registered.toArray(CompletableFuture[]::new)).join();
+            }
+        }
+        registered.forEach(future -> sessions.add(future.join()));
+    }
+
+    /**
+     * Starts one operation; latency of its first request counts from the
+     * scheduled start time.
+     */
+    void run(String operation, long scheduledNanos, boolean measured) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        switch (operation) {
+            case "browse" -> {
+                String path = random.nextInt(4) == 0
+                        ? "/api/products?size=20"
+                        : "/api/products?size=20&cursor=" + CursorCodec.encode(randomProductId());
+                send("browse", get(path, randomSession().token), scheduledNanos, measured);
+            }
+            case "product" -> send("product", get("/api/products/" + randomProductId(), randomSession().token),
+                    scheduledNanos, measured);
+            case "search" -> {
+                String term = random.nextBoolean()
+                        ? ADJECTIVES[random.nextInt(ADJECTIVES.length)]
+                        : NOUNS[random.nextInt(NOUNS.length)].substring(0, 4);
+                send("search", get("/api/products/search?name=" + URLEncoder.encode(term, StandardCharsets.UTF_8),
+                        randomSession().token), scheduledNanos, measured);
+            }
+            case "add-to-cart" -> {
+                Lease lease = acquireSession();
+                addToCart(lease.session, scheduledNanos, measured).whenComplete((response, failure) -> lease.release());
+            }
+            case "checkout" -> {
+                Lease lease = acquireSession();
+                addToCart(lease.session, scheduledNanos, measured)
+                        .thenCompose(response -> send("place-order", post("/api/orders", null, lease.session.token),
+                                System.nanoTime(), measured))
+                        .whenComplete((response, failure) -> lease.release());
+            }
+            case "list-orders" -> {
+                Lease lease = acquireSession();
+                send("list-orders", get("/api/orders?size=20", lease.session.token), scheduledNanos, measured)
+                        .whenComplete((response, failure) -> lease.release());
+            }
+            case "login" -> send("login", post("/api/auth/login",
+                    Map.of("username", randomSession().username, "password", PASSWORD), null), scheduledNanos, measured);
+            case "register" -> {
+                String username = "lt-new-" + registrations.incrementAndGet();
+                send("register", post("/api/auth/register", Map.of(
+                        "username", username,
+                        "email", username + "@example.com",
+                        "password", PASSWORD), null), scheduledNanos, measured);
+            }
+            default -> throw new IllegalArgumentException("Unknown operation: " + operation);
+        }
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    EndpointStats overall() {
+        return overall;
+    }
+
+    Map<String, EndpointStats> endpoints() {
+        return new TreeMap<>(stats);
+    }
+
+    private CompletableFuture<HttpResponse<String>> addToCart(Session session, long scheduledNanos, boolean measured) {
+        Map<String, Object> body = Map.of("productId", randomProductId(), "quantity", 1);
+        return send("add-to-cart", post("/api/cart/items", body, session.token), scheduledNanos, measured);
+    }
+
+    private CompletableFuture<HttpResponse<String>> send(String endpoint, HttpRequest request,
+                                                         long startNanos, boolean measured) {
+        inFlight.incrementAndGet();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .whenComplete((response, failure) -> {
+                    if (measured) {
+                        long latency = System.nanoTime() - startNanos;
+                        boolean error = failure != null || response.statusCode() >= 400;
+                        stats.computeIfAbsent(endpoint, key -> new EndpointStats()).record(latency, error);
+                        overall.record(latency, error);
+                    }
+                    inFlight.decrementAndGet();
+                });
+    }
+
+    private CompletableFuture<String> register(String username, String path) {
+        Map<String, Object> registration = Map.of(
+                "username", username,
+                "email", username + "@example.com",
+                "password", PASSWORD);
+        Map<String, Object> credentials = Map.of("username", username, "password", PASSWORD);
+        return httpClient.sendAsync(post(path, registration, null), HttpResponse.BodyHandlers.ofString())
+                .thenApply(this::read)
+                .thenCompose(ignored -> httpClient.sendAsync(post("/api/auth/login", credentials, null),
+                        HttpResponse.BodyHandlers.ofString()))
+                .thenApply(response -> read(response).get("token").asString());
+    }
+
+    /**
+     * Picks an idle session, or shares a busy one when there are too few
+     * sessions for the request rate.
+     */
+    private Lease acquireSession() {
+        for (int attempt = 0; attempt < 8; attempt++) {
+            Session session = randomSession();
+            if (session.busy.compareAndSet(false, true)) {
+                return new Lease(session, true);
+            }
+        }
+        return new Lease(randomSession(), false);
+    }
+
+    private Session randomSession() {
+        return sessions.get(ThreadLocalRandom.current().nextInt(sessions.size()));
+    }
+
+    private long randomProductId() {
+        return productIds.get(ThreadLocalRandom.current().nextInt(productIds.size()));
+    }
+
+    private HttpRequest get(String path, String token) {
+        return request(path, token).GET().build();
+    }
+
+    private HttpRequest post(String path, Object body, String token) {
+        HttpRequest.BodyPublisher publisher = body == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofByteArray(jsonMapper.writeValueAsBytes(body));
+        return request(path, token)
+                .header("Content-Type", "application/json")
+                .POST(publisher)
+                .build();
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(path)).timeout(timeout);
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private JsonNode read(HttpResponse<String> response) {
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException(response.request().uri() + " returned " + response.statusCode()
+                    + ": " + response.body());
+        }
+        return jsonMapper.readTree(response.body());
+    }
+
+    private static final class Session {
+
+        private final String username;
+        private final String token;
+        private final AtomicBoolean busy = new AtomicBoolean();
+
+        private Session(String username, String token) {
+            this.username = username;
+            this.token = token;
+        }
+    }
+
+    private record Lease(Session session, boolean owned) {
+
+        private void release() {
+            if (owned) {
+                session.busy.set(false);
+            }
+        }
+    }
+}
\ No newline at end of file
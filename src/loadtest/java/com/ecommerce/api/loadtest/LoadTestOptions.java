@@ -0,0 +1,65 @@
+package com.ecommerce.api.loadtest;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command line options of the load test. Anything it does not recognize is
+ * handed to the application, e.g. --spring.threads.virtual.enabled=true.
+ */
+final class LoadTestOptions {
+
+    static final String DEFAULT_MIX =
+            "browse:30,product:15,search:15,add-to-cart:15,checkout:5,list-orders:12,login:5,register:3";
+
+    double rate = 100;
+    int warmupSeconds = 10;
+    int durationSeconds = 60;
+    int users = 200;
+    int products = 500;
+    int timeoutSeconds = 30;
+    String mix = DEFAULT_MIX;
+    String reportFile;
+    final List<String> applicationArgs = new ArrayList<>();
+
+    static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            String key = separator < 0 ? arg : arg.substring(0, separator);
+            String value = separator < 0 ? "" : arg.substring(separator + 1);
+            switch (key) {
+                case "--rate" -> options.rate = Double.parseDouble(value);
+                case "--warmup" -> options.warmupSeconds = Integer.parseInt(value);
+                case "--duration" -> options.durationSeconds = Integer.parseInt(value);
+                case "--users" -> options.users = Integer.parseInt(value);
+                case "--products" -> options.products = Integer.parseInt(value);
+                case "--timeout" -> options.timeoutSeconds = Integer.parseInt(value);
+                case "--mix" -> options.mix = value;
+                case "--report" -> options.reportFile = value;
+                default -> options.applicationArgs.add(arg);
+            }
+        }
+        if (options.rate <= 0) {
+            throw new IllegalArgumentException("--rate must be positive");
+        }
+        return options;
+    }
+
+    /**
+     * Operation name to relative weight, e.g. "browse:3,search:1".
+     */
+    Map<String, Integer> weights() {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry: " + entry);
+            }
+            weights.put(parts[0], Integer.parseInt(parts[1]));
+        }
+        return weights;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,173 @@
+package com.ecommerce.api.loadtest;
+
+import com.ecommerce.api.MiniEcommerceApiApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import tools.jackson.databind.SerializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.File;
+import java.net.URI;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Boots the application on a random port against an in-memory H2 database in
+ * PostgreSQL mode, seeds a catalog and customers through the API, and drives a
+ * weighted mix of shopper operations at a fixed arrival rate (open model).
+ * Requests are started on schedule whether or not earlier ones have finished,
+ * and latency counts from the scheduled start, so server stalls are not hidden
+ * by coordinated omission.
+ * <p>
+ * ./mvnw -Ploadtest test-compile exec:exec -Dloadtest.args="--rate=200 --duration=60"
+ */
+public final class LoadTestRunner {
+
+    static final String[] EMBEDDED_DATABASE_ARGS = {
+            "--server.port=0",
+            "--management.server.port=0",
+            "--spring.datasource.url=jdbc:h2:mem:loadtest;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+                    + "DEFAULT_NULL_ORDERING=HIGH;LOCK_TIMEOUT=30000",
+            "--spring.datasource.username=sa",
+            "--spring.datasource.password=",
+            "--spring.datasource.driver-class-name=org.h2.Driver",
+            "--spring.jpa.hibernate.ddl-auto=create-drop",
+            "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+            "--spring.jpa.show-sql=false",
+            "--rate-limit.enabled=false",
+            "--logging.level.org.springframework.security=WARN",
+            "--logging.level.com.ecommerce=INFO"
+    };
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        Map<String, Integer> weights = options.weights();
+        for (String operation : weights.keySet()) {
+            if (!LoadScenario.OPERATIONS.contains(operation)) {
+                throw new IllegalArgumentException("Unknown operation in mix: " + operation
+                        + ", expected one of " + LoadScenario.OPERATIONS);
+            }
+        }
+
+        List<String> applicationArgs = new ArrayList<>(List.of(EMBEDDED_DATABASE_ARGS));
+        applicationArgs.addAll(options.applicationArgs);
+
+        try (ConfigurableApplicationContext context = SpringApplication.run(
+                MiniEcommerceApiApplication.class, applicationArgs.toArray(String[]::new))) {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            LoadScenario scenario = new LoadScenario(
+                    URI.create("http://localhost:" + port), Duration.ofSeconds(options.timeoutSeconds));
+
+            System.out.printf("Seeding %d products and %d customers...%n", options.products, options.users);
+            scenario.seed(options.products, options.users);
+
+            System.out.printf("Running %.1f req/s for %ds after %ds warm-up, mix %s%n",
+                    options.rate, options.durationSeconds, options.warmupSeconds, options.mix);
+            long maxLagNanos = drive(scenario, options, weights);
+            awaitInFlight(scenario, options.timeoutSeconds);
+
+            Map<String, Object> report = report(scenario, options, maxLagNanos);
+            print(report);
+            if (options.reportFile != null) {
+                JsonMapper.builder().enable(SerializationFeature.INDENT_OUTPUT).build()
+                        .writeValue(new File(options.reportFile), report);
+                System.out.println("Report written to " + options.reportFile);
+            }
+        }
+    }
+
+    /**
+     * Issues operations at fixed intervals and returns how far the generator
+     * itself fell behind schedule at worst.
+     */
+    private static long drive(LoadScenario scenario, LoadTestOptions options, Map<String, Integer> weights) {
+        String[] operations = weights.keySet().toArray(String[]::new);
+        int[] cumulative = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += weights.get(operations[i]);
+            cumulative[i] = total;
+        }
+
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / options.rate;
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(options.warmupSeconds);
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(options.durationSeconds);
+        long maxLagNanos = 0;
+
+        for (long i = 0; ; i++) {
+            long scheduled = start + (long) (i * intervalNanos);
+            if (scheduled >= end) {
+                return maxLagNanos;
+            }
+            long now;
+            while ((now = System.nanoTime()) < scheduled) {
+                LockSupport.parkNanos(scheduled - now);
+            }
+            maxLagNanos = Math.max(maxLagNanos, now - scheduled);
+
+            int pick = ThreadLocalRandom.current().nextInt(total);
+            int index = 0;
+            while (cumulative[index] <= pick) {
+                index++;
+            }
+            scenario.run(operations[index], scheduled, scheduled >= measureFrom);
+        }
+    }
+
+    private static void awaitInFlight(LoadScenario scenario, int timeoutSeconds) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        while (scenario.inFlight() > 0 && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(50));
+        }
+    }
+
+    private static Map<String, Object> report(LoadScenario scenario, LoadTestOptions options, long maxLagNanos) {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("rate", options.rate);
+        settings.put("warmupSeconds", options.warmupSeconds);
+        settings.put("durationSeconds", options.durationSeconds);
+        settings.put("users", options.users);
+        settings.put("products", options.products);
+        settings.put("mix", options.mix);
+        settings.put("applicationArgs", options.applicationArgs);
+
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        scenario.endpoints().forEach((name, stats) -> endpoints.put(name, stats.summary(options.durationSeconds)));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("settings", settings);
+        report.put("generatorMaxLagMs", maxLagNanos / 1_000_000.0);
+        report.put("overall", scenario.overall().summary(options.durationSeconds));
+        report.put("endpoints", endpoints);
+        return report;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void print(Map<String, Object> report) {
+        String format = "%-12s %9s %7s %8s %9s %9s %9s %9s %9s %9s%n";
+        System.out.printf(format, "endpoint", "requests", "errors", "error%", "req/s",
+                "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+
+        Map<String, Object> rows = new LinkedHashMap<>((Map<String, Object>) report.get("endpoints"));
+        rows.put("overall", report.get("overall"));
+        rows.forEach((name, value) -> {
+            Map<String, Object> row = (Map<String, Object>) value;
+            System.out.printf(format, name, row.get("requests"), row.get("errors"),
+                    String.format("%.2f", (double) row.get("errorRate") * 100),
+                    String.format("%.1f", (double) row.get("throughput")),
+                    String.format("%.1f", (double) row.get("p50Ms")),
+                    String.format("%.1f", (double) row.get("p90Ms")),
+                    String.format("%.1f", (double) row.get("p99Ms")),
+                    String.format("%.1f", (double) row.get("p999Ms")),
+                    String.format("%.1f", (double) row.get("maxMs")));
+        });
+        System.out.printf("Generator fell behind schedule by at most %.1f ms%n", (double) report.get("generatorMaxLagMs"));
+    }
+}
\ No newline at end of file
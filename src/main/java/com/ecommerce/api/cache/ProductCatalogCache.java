@@ -0,0 +1,176 @@
+package com.ecommerce.api.cache;
+
+import com.ecommerce.api.dto.response.CursorPage;
+import com.ecommerce.api.dto.response.ProductResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * In-process read-through cache for products and catalog pages. It holds
+ * immutable {@link ProductResponse} copies, never entities, so cached values
+ * can be shared between requests. Entries expire after the configured
+ * staleness bound. Writes on this instance evict the product and only the
+ * pages whose id range covers it, immediately and again after commit, so a
+ * concurrent read cannot re-populate the cache with the pre-commit state.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductCatalogCache {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${catalog.cache.max-products:10000}")
+    private long maxProducts;
+
+    @Value("${catalog.cache.max-pages:1000}")
+    private long maxPages;
+
+    @Value("${catalog.cache.max-staleness-seconds:30}")
+    private long maxStalenessSeconds;
+
+    private Cache<Long, ProductResponse> products;
+    private Cache<PageKey, CursorPage<ProductResponse>> pages;
+
+    @PostConstruct
+    public void init() {
+        Duration maxStaleness = Duration.ofSeconds(maxStalenessSeconds);
+        products = Caffeine.newBuilder()
+                .maximumSize(maxProducts)
+                .expireAfterWrite(maxStaleness)
+                .recordStats()
+                .build();
+        pages = Caffeine.newBuilder()
+                .maximumSize(maxPages)
+                .expireAfterWrite(maxStaleness)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, products, "catalog.products");
+        CaffeineCacheMetrics.monitor(meterRegistry, pages, "catalog.pages");
+    }
+
+    public ProductResponse getProduct(Long id, Function<Long, ProductResponse> loader) {
+        return products.get(id, loader);
+    }
+
+    /**
+     * The cached product, if any, without loading it or counting a hit or miss.
+     */
+    public ProductResponse peekProduct(Long id) {
+        return products.asMap().get(id);
+    }
+
+    /**
+     * The page of products with ids after afterId, in id order.
+     */
+    public CursorPage<ProductResponse> getPage(long afterId, int size, Supplier<CursorPage<ProductResponse>> loader) {
+        return pages.get(new PageKey(afterId, size), key -> loader.get());
+    }
+
+    public void evict(Long productId) {
+        evictAll(List.of(productId));
+    }
+
+    public void evictAll(Collection<Long> productIds) {
+        Runnable eviction = () -> {
+            products.invalidateAll(productIds);
+            evictPagesCovering(productIds);
+        };
+        eviction.run();
+        afterCommit(eviction);
+    }
+
+    /**
+     * Drops the cached listing pages that products with these ids were added
+     * to or removed from.
+     */
+    public void evictPages(Collection<Long> productIds) {
+        Runnable eviction = () -> evictPagesCovering(productIds);
+        eviction.run();
+        afterCommit(eviction);
+    }
+
+    public void invalidateAll() {
+        Runnable eviction = () -> {
+            products.invalidateAll();
+            pages.invalidateAll();
+        };
+        eviction.run();
+        afterCommit(eviction);
+    }
+
+    public CacheStats productStats() {
+        return products.stats();
+    }
+
+    public CacheStats pageStats() {
+        return pages.stats();
+    }
+
+    public Map<String, Object> statsSummary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("products", describe(products.stats(), products.estimatedSize()));
+        summary.put("pages", describe(pages.stats(), pages.estimatedSize()));
+        return summary;
+    }
+
+    private static Map<String, Object> describe(CacheStats stats, long size) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("size", size);
+        values.put("hits", stats.hitCount());
+        values.put("misses", stats.missCount());
+        values.put("hitRate", stats.hitRate());
+        values.put("evictions", stats.evictionCount());
+        return values;
+    }
+
+    /**
+     * A page covers the ids after its cursor up to its last item, or all of
+     * them when it is the last page, so an added, changed or removed product
+     * only drops the pages it shows up on or would shift.
+     */
+    private void evictPagesCovering(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+        pages.asMap().entrySet().removeIf(entry -> {
+            long afterId = entry.getKey().afterId();
+            CursorPage<ProductResponse> page = entry.getValue();
+            List<ProductResponse> items = page.getItems();
+            long lastId = page.getNextCursor() == null || items.isEmpty()
+                    ? Long.MAX_VALUE
+                    : items.get(items.size() - 1).getId();
+            return productIds.stream().anyMatch(id -> id > afterId && id <= lastId);
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        }
+    }
+
+    private record PageKey(long afterId, int size) {
+    }
+}
\ No newline at end of file
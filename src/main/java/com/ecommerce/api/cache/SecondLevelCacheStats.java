@@ -0,0 +1,49 @@
+package com.ecommerce.api.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Hit rates of Hibernate's second-level and query cache regions, alongside
+ * the catalog cache figures. The same counters are exported as
+ * hibernate.second.level.cache.* metrics.
+ */
+@Component
+@RequiredArgsConstructor
+public class SecondLevelCacheStats {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public Map<String, Object> statsSummary() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Map<String, Object> summary = new LinkedHashMap<>();
+        for (String region : new TreeSet<>(List.of(statistics.getSecondLevelCacheRegionNames()))) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            if (regionStatistics != null) {
+                summary.put(region, describe(regionStatistics));
+            }
+        }
+        return summary;
+    }
+
+    private static Map<String, Object> describe(CacheRegionStatistics stats) {
+        long hits = stats.getHitCount();
+        long misses = stats.getMissCount();
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("size", stats.getElementCountInMemory());
+        values.put("hits", hits);
+        values.put("misses", misses);
+        values.put("puts", stats.getPutCount());
+        values.put("hitRate", hits + misses == 0 ? 1.0 : (double) hits / (hits + misses));
+        return values;
+    }
+}
\ No newline at end of file
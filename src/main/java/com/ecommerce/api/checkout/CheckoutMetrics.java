@@ -0,0 +1,62 @@
+package com.ecommerce.api.checkout;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Business counters for checkout: orders placed, orders turned down for lack
+ * of stock, orders accepted into the async pipeline, and retries answered
+ * from an earlier attempt with the same Idempotency-Key, tagged by mode.
+ */
+@Component
+public class CheckoutMetrics {
+
+    private final Counter placedSync;
+    private final Counter rejectedSync;
+    private final Counter queued;
+    private final Counter placedAsync;
+    private final Counter rejectedAsync;
+    private final Counter replayed;
+
+    public CheckoutMetrics(MeterRegistry meterRegistry) {
+        placedSync = counter(meterRegistry, "sync", "placed");
+        rejectedSync = counter(meterRegistry, "sync", "rejected");
+        queued = counter(meterRegistry, "async", "queued");
+        placedAsync = counter(meterRegistry, "async", "placed");
+        rejectedAsync = counter(meterRegistry, "async", "rejected");
+        replayed = counter(meterRegistry, "sync", "replayed");
+    }
+
+    public void placed(boolean async, int count) {
+        (async ? placedAsync : placedSync).increment(count);
+    }
+
+    public void rejected(boolean async, int count) {
+        (async ? rejectedAsync : rejectedSync).increment(count);
+    }
+
+    public long placedCount(boolean async) {
+        return (long) (async ? placedAsync : placedSync).count();
+    }
+
+    public long rejectedCount(boolean async) {
+        return (long) (async ? rejectedAsync : rejectedSync).count();
+    }
+
+    public void queued() {
+        queued.increment();
+    }
+
+    public void replayed() {
+        replayed.increment();
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String mode, String outcome) {
+        return Counter.builder("checkout.orders")
+                .description("Checkout attempts by mode and outcome")
+                .tag("mode", mode)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
\ No newline at end of file
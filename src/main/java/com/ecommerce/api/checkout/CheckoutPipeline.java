@@ -0,0 +1,302 @@
+package com.ecommerce.api.checkout;
+
+import com.ecommerce.api.cache.ProductCatalogCache;
+import com.ecommerce.api.entity.Order;
+import com.ecommerce.api.entity.OrderItem;
+import com.ecommerce.api.enums.OrderStatus;
+import com.ecommerce.api.repository.OrderItemRepository;
+import com.ecommerce.api.repository.OrderRepository;
+import com.ecommerce.api.service.CartService;
+import com.ecommerce.api.service.InventoryService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Commits queued orders in micro-batches. Async checkout stores the order as
+ * QUEUED and hands its id over after commit; worker threads drain up to
+ * batch-size ids at a time and reserve stock for the whole batch in one
+ * transaction, moving each order to PENDING or REJECTED on its own. The lines
+ * of a rejected order go back into the buyer's cart.
+ * <p>
+ * The queue only holds ids, the orders themselves are already durable. Orders
+ * that never reached a worker (full queue, restart, another instance going
+ * down) are queued again by a periodic sweep, which skips ids this instance
+ * still holds, and the row lock taken on each batch makes sure an order is
+ * processed only once. If a batch fails as a
+ * whole, for example on a deadlock between workers, its orders are retried one
+ * at a time.
+ */
+@Component
+@RequiredArgsConstructor
+public class CheckoutPipeline {
+
+    private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final InventoryService inventoryService;
+    private final CartService cartService;
+    private final ProductCatalogCache catalogCache;
+    private final PlatformTransactionManager transactionManager;
+    private final CheckoutMetrics checkoutMetrics;
+    private final MeterRegistry meterRegistry;
+
+    // Ids in the queue or in a batch being processed
+    private final Set<Long> enqueued = ConcurrentHashMap.newKeySet();
+
+    @Value("${checkout.async.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${checkout.async.workers:2}")
+    private int workers;
+
+    @Value("${checkout.async.batch-size:50}")
+    private int batchSize;
+
+    @Value("${checkout.async.requeue-after-ms:60000}")
+    private long requeueAfterMs;
+
+    private BlockingQueue<Long> queue;
+    private ExecutorService workerPool;
+    private TransactionTemplate transactionTemplate;
+    private DistributionSummary batchSizes;
+    private Timer batchCommits;
+    private Counter requeued;
+    private volatile boolean running = true;
+
+    @PostConstruct
+    public void init() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        Gauge.builder("checkout.pipeline.queue.depth", queue, BlockingQueue::size)
+                .description("Order ids waiting for a checkout worker")
+                .register(meterRegistry);
+        batchSizes = DistributionSummary.builder("checkout.pipeline.batch.size")
+                .description("Orders committed per pipeline transaction")
+                .register(meterRegistry);
+        batchCommits = Timer.builder("checkout.pipeline.batch.commit")
+                .description("Time to reserve stock for and commit one batch")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        requeued = Counter.builder("checkout.pipeline.requeued")
+                .description("Stale QUEUED orders handed to the workers again by the sweep")
+                .register(meterRegistry);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        workerPool = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "checkout-worker-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < workers; i++) {
+            workerPool.execute(this::runWorker);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        workerPool.shutdownNow();
+        workerPool.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    public boolean hasCapacity() {
+        return queue.remainingCapacity() > 0;
+    }
+
+    /**
+     * Hands a committed QUEUED order to the workers. If the queue filled up in
+     * the meantime the order is left for the sweep.
+     */
+    public void submit(Long orderId) {
+        offer(orderId);
+    }
+
+    @Scheduled(fixedDelayString = "${checkout.async.sweep-interval-ms:30000}")
+    public void requeueStaleOrders() {
+        int capacity = queue.remainingCapacity();
+        if (capacity == 0) {
+            return;
+        }
+        LocalDateTime before = LocalDateTime.now().minusNanos(TimeUnit.MILLISECONDS.toNanos(requeueAfterMs));
+        // Ids still waiting come back from the query too, so fetch enough to fill the free slots
+        for (Long orderId : orderRepository.findIdsByStatusCreatedBefore(
+                OrderStatus.QUEUED, before, PageRequest.ofSize(capacity + enqueued.size()))) {
+            if (enqueued.contains(orderId)) {
+                continue;
+            }
+            if (!offer(orderId)) {
+                return;
+            }
+            requeued.increment();
+        }
+    }
+
+    /**
+     * Queues the id unless it is already waiting or being processed. Returns
+     * false when the queue is full.
+     */
+    private boolean offer(Long orderId) {
+        if (!enqueued.add(orderId)) {
+            return true;
+        }
+        if (queue.offer(orderId)) {
+            return true;
+        }
+        enqueued.remove(orderId);
+        return false;
+    }
+
+    /**
+     * Admin view of the pipeline, read from the same meters that are exported.
+     * The largest batch and slowest commit are the maxima of the current
+     * metrics window.
+     */
+    public Map<String, Object> statsSummary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("queueDepth", queue.size());
+        summary.put("queueCapacity", queueCapacity);
+        summary.put("workers", workers);
+        summary.put("maxBatchSize", batchSize);
+        summary.put("batches", batchSizes.count());
+        summary.put("ordersPlaced", checkoutMetrics.placedCount(true));
+        summary.put("ordersRejected", checkoutMetrics.rejectedCount(true));
+        summary.put("ordersRequeued", (long) requeued.count());
+        summary.put("largestBatchSize", (long) batchSizes.max());
+        summary.put("averageBatchSize", batchSizes.mean());
+        summary.put("maxCommitMs", batchCommits.max(TimeUnit.MILLISECONDS));
+        summary.put("averageCommitMs", batchCommits.mean(TimeUnit.MILLISECONDS));
+        return summary;
+    }
+
+    private void runWorker() {
+        List<Long> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            queue.drainTo(batch, batchSize - 1);
+
+            try {
+                processBatch(batch);
+            } catch (RuntimeException e) {
+                batch.forEach(this::processAlone);
+            } finally {
+                batch.forEach(enqueued::remove);
+            }
+            batch.clear();
+        }
+    }
+
+    private void processAlone(Long orderId) {
+        try {
+            processBatch(List.of(orderId));
+        } catch (RuntimeException e) {
+            reject(orderId);
+        }
+    }
+
+    private void processBatch(List<Long> orderIds) {
+        awaitHotStock(orderIds);
+        long start = System.nanoTime();
+        int[] outcome = transactionTemplate.execute(status -> {
+            int[] placedAndRejected = new int[2];
+            List<Order> orders = orderRepository.findForUpdateByIdInAndStatus(orderIds, OrderStatus.QUEUED);
+            if (orders.isEmpty()) {
+                return placedAndRejected;
+            }
+            Map<Long, List<OrderItem>> itemsByOrderId = orderItemRepository.findByOrderIdIn(
+                            orders.stream().map(Order::getId).toList()).stream()
+                    .collect(Collectors.groupingBy(orderItem -> orderItem.getOrder().getId()));
+
+            Set<Long> reservedProductIds = new HashSet<>();
+            for (Order order : orders) {
+                Map<Long, Integer> quantities = new HashMap<>();
+                for (OrderItem orderItem : itemsByOrderId.getOrDefault(order.getId(), List.of())) {
+                    quantities.merge(orderItem.getProduct().getId(), orderItem.getQuantity(), Integer::sum);
+                }
+
+                if (inventoryService.reserveOrRestore(quantities).isEmpty()) {
+                    order.setStatus(OrderStatus.PENDING);
+                    reservedProductIds.addAll(quantities.keySet());
+                    placedAndRejected[0]++;
+                } else {
+                    order.setStatus(OrderStatus.REJECTED);
+                    cartService.restoreItems(order.getUser().getId(), itemsByOrderId.getOrDefault(order.getId(), List.of()));
+                    placedAndRejected[1]++;
+                }
+            }
+
+            catalogCache.evictAll(reservedProductIds);
+            return placedAndRejected;
+        });
+
+        if (outcome != null && outcome[0] + outcome[1] > 0) {
+            checkoutMetrics.placed(true, outcome[0]);
+            checkoutMetrics.rejected(true, outcome[1]);
+            recordBatch(outcome[0] + outcome[1], System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Lets hot product counters refill for the whole batch before its
+     * transaction opens, since reserving inside it does not wait.
+     */
+    private void awaitHotStock(List<Long> orderIds) {
+        if (!inventoryService.hasHotProducts()) {
+            return;
+        }
+        Map<Long, Integer> quantities = new HashMap<>();
+        for (OrderItem orderItem : orderItemRepository.findByOrderIdIn(orderIds)) {
+            quantities.merge(orderItem.getProduct().getId(), orderItem.getQuantity(), Integer::sum);
+        }
+        inventoryService.awaitHotStock(quantities);
+    }
+
+    private void recordBatch(int size, long elapsedNanos) {
+        batchSizes.record(size);
+        batchCommits.record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gives up on an order that fails even on its own; if this fails too the
+     * order stays QUEUED and the sweep tries again later.
+     */
+    private void reject(Long orderId) {
+        try {
+            Boolean rejected = transactionTemplate.execute(status -> {
+                List<Order> orders = orderRepository.findForUpdateByIdInAndStatus(List.of(orderId), OrderStatus.QUEUED);
+                for (Order order : orders) {
+                    order.setStatus(OrderStatus.REJECTED);
+                    cartService.restoreItems(order.getUser().getId(), orderItemRepository.findByOrderIdIn(List.of(orderId)));
+                }
+                return !orders.isEmpty();
+            });
+            if (Boolean.TRUE.equals(rejected)) {
+                checkoutMetrics.rejected(true, 1);
+            }
+        } catch (RuntimeException ignored) {
+            // Left QUEUED for the sweep
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,132 @@
+package com.ecommerce.api.checkout;
+
+import com.ecommerce.api.dto.response.OrderResponse;
+import com.ecommerce.api.entity.IdempotencyKey;
+import com.ecommerce.api.exception.CheckoutUnavailableException;
+import com.ecommerce.api.repository.IdempotencyKeyRepository;
+import com.ecommerce.api.service.OrderService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.*;
+
+/**
+ * Places an order at most once per Idempotency-Key and user. A retry of a
+ * request that is still running waits for it, and a retry of one that
+ * succeeded gets the same order back; neither runs checkout again. Keys are
+ * remembered in memory for the TTL, with a table behind them for retries
+ * that reach another instance or arrive after a restart. A failed attempt is
+ * forgotten, so the client can retry it.
+ */
+@Component
+@RequiredArgsConstructor
+public class IdempotentCheckout {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final OrderService orderService;
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final CheckoutMetrics checkoutMetrics;
+
+    @Value("${checkout.idempotency.ttl-hours:24}")
+    private long ttlHours;
+
+    @Value("${checkout.idempotency.max-keys:100000}")
+    private long maxKeys;
+
+    @Value("${checkout.idempotency.wait-ms:30000}")
+    private long waitMs;
+
+    private Cache<String, CompletableFuture<Long>> orderIdsByKey;
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        orderIdsByKey = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterWrite(Duration.ofHours(ttlHours))
+                .build();
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public OrderResponse placeOrder(Long userId, String key) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String cacheKey = userId + ":" + key;
+        CompletableFuture<Long> attempt = new CompletableFuture<>();
+        CompletableFuture<Long> original = orderIdsByKey.asMap().putIfAbsent(cacheKey, attempt);
+        if (original != null) {
+            Long orderId = await(original);
+            checkoutMetrics.replayed();
+            return orderService.getOrderById(userId, orderId);
+        }
+
+        try {
+            orderService.awaitHotStock(userId);
+            OrderResponse order = placeOnce(userId, key);
+            attempt.complete(order.getId());
+            return order;
+        } catch (RuntimeException e) {
+            orderIdsByKey.asMap().remove(cacheKey, attempt);
+            attempt.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${checkout.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpiredKeys() {
+        idempotencyKeyRepository.deleteCreatedBefore(LocalDateTime.now().minusHours(ttlHours));
+    }
+
+    /**
+     * Claims the key and places the order in one transaction. If the insert
+     * runs into the key, another attempt has committed it (a concurrent one
+     * is waited for by the database), and its order is returned instead.
+     */
+    private OrderResponse placeOnce(Long userId, String key) {
+        try {
+            return transactionTemplate.execute(status -> {
+                IdempotencyKey claim = idempotencyKeyRepository.saveAndFlush(IdempotencyKey.builder()
+                        .userId(userId)
+                        .key(key)
+                        .build());
+                OrderResponse order = orderService.placeOrder(userId);
+                claim.setOrderId(order.getId());
+                return order;
+            });
+        } catch (DataIntegrityViolationException e) {
+            Long orderId = idempotencyKeyRepository.findOrderIdByUserIdAndKey(userId, key).orElseThrow(() -> e);
+            checkoutMetrics.replayed();
+            return orderService.getOrderById(userId, orderId);
+        }
+    }
+
+    private Long await(CompletableFuture<Long> original) {
+        try {
+            return original.get(waitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new CheckoutUnavailableException("An order with this Idempotency-Key is still being placed, please retry shortly");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CheckoutUnavailableException("Interrupted while waiting for the original request");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException failure) {
+                throw failure;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
\ No newline at end of file
@@ -8,6 +8,7 @@ import com.ecommerce.api.service.AuthService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -27,6 +28,17 @@ public class AuthController {
         return ResponseEntity.ok(authService.login(loginRequest));
     }
 
+    @PostMapping("/logout")
+    public ResponseEntity<MessageResponse> logout(@RequestHeader(value = "Authorization", required = false) String authorization) {
+        return ResponseEntity.ok(authService.logout(authorization));
+    }
+
+    @PostMapping("/admin/users/{username}/revoke-tokens")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<MessageResponse> revokeUserTokens(@PathVariable String username) {
+        return ResponseEntity.ok(authService.revokeUserTokens(username));
+    }
+
     @PostMapping("/register-admin")
     public ResponseEntity<MessageResponse> registerAdmin(@Valid @RequestBody RegisterRequest registerRequest) {
         return ResponseEntity.ok(authService.registerAdmin(registerRequest));
@@ -2,15 +2,15 @@ package com.ecommerce.api.controller;
 
 import com.ecommerce.api.dto.request.AddToCartRequest;
 import com.ecommerce.api.dto.request.UpdateCartItemRequest;
+import com.ecommerce.api.dto.response.CartResponse;
 import com.ecommerce.api.dto.response.MessageResponse;
-import com.ecommerce.api.entity.Cart;
+import com.ecommerce.api.security.UserPrincipal;
 import com.ecommerce.api.service.CartService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -22,28 +22,28 @@ public class CartController {
     private final CartService cartService;
 
     @GetMapping
-    public ResponseEntity<Cart> getCart(@AuthenticationPrincipal UserDetails userDetails) {
-        return ResponseEntity.ok(cartService.getCartByUsername(userDetails.getUsername()));
+    public ResponseEntity<CartResponse> getCart(@AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(cartService.getCartByUserId(principal.getId()));
     }
 
     @PostMapping("/items")
-    public ResponseEntity<Cart> addItemToCart(
-            @AuthenticationPrincipal UserDetails userDetails,
+    public ResponseEntity<CartResponse> addItemToCart(
+            @AuthenticationPrincipal UserPrincipal principal,
             @Valid @RequestBody AddToCartRequest request) {
         return ResponseEntity.ok(cartService.addItemToCart(
-                userDetails.getUsername(),
+                principal.getId(),
                 request.getProductId(),
                 request.getQuantity()
         ));
     }
 
     @PutMapping("/items/{cartItemId}")
-    public ResponseEntity<Cart> updateCartItem(
-            @AuthenticationPrincipal UserDetails userDetails,
+    public ResponseEntity<CartResponse> updateCartItem(
+            @AuthenticationPrincipal UserPrincipal principal,
             @PathVariable Long cartItemId,
             @Valid @RequestBody UpdateCartItemRequest request) {
         return ResponseEntity.ok(cartService.updateCartItemQuantity(
-                userDetails.getUsername(),
+                principal.getId(),
                 cartItemId,
                 request.getQuantity()
         ));
@@ -51,16 +51,16 @@ public class CartController {
 
     @DeleteMapping("/items/{cartItemId}")
     public ResponseEntity<MessageResponse> removeItemFromCart(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @AuthenticationPrincipal UserPrincipal principal,
             @PathVariable Long cartItemId) {
         return ResponseEntity.ok(cartService.removeItemFromCart(
-                userDetails.getUsername(),
+                principal.getId(),
                 cartItemId
         ));
     }
 
     @DeleteMapping("/clear")
-    public ResponseEntity<MessageResponse> clearCart(@AuthenticationPrincipal UserDetails userDetails) {
-        return ResponseEntity.ok(cartService.clearCart(userDetails.getUsername()));
+    public ResponseEntity<MessageResponse> clearCart(@AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(cartService.clearCart(principal.getId()));
     }
 }
\ No newline at end of file
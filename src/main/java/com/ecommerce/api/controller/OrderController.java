@@ -1,17 +1,33 @@
 package com.ecommerce.api.controller;
 
-import com.ecommerce.api.entity.Order;
+import com.ecommerce.api.checkout.IdempotentCheckout;
+import com.ecommerce.api.dto.request.BulkOrderStatusRequest;
+import com.ecommerce.api.dto.response.BulkStatusChangeResponse;
+import com.ecommerce.api.dto.response.CursorPage;
+import com.ecommerce.api.dto.response.OrderResponse;
 import com.ecommerce.api.enums.OrderStatus;
+import com.ecommerce.api.security.UserPrincipal;
+import com.ecommerce.api.service.BulkOrderStatusService;
+import com.ecommerce.api.service.OrderExportService;
 import com.ecommerce.api.service.OrderService;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/orders")
@@ -19,37 +35,116 @@ import java.util.List;
 @PreAuthorize("hasRole('CUSTOMER')")
 public class OrderController {
 
+    private static final String NDJSON = "application/x-ndjson";
+
     private final OrderService orderService;
+    private final OrderExportService orderExportService;
+    private final BulkOrderStatusService bulkOrderStatusService;
+    private final IdempotentCheckout idempotentCheckout;
 
+    /**
+     * With an Idempotency-Key header, retries of the same request return the
+     * order of the first attempt instead of placing another one.
+     */
     @PostMapping
-    public ResponseEntity<Order> placeOrder(@AuthenticationPrincipal UserDetails userDetails) {
-        return ResponseEntity.status(HttpStatus.CREATED)
-                .body(orderService.placeOrder(userDetails.getUsername()));
+    public ResponseEntity<OrderResponse> placeOrder(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        OrderResponse order = idempotencyKey == null
+                ? orderService.placeOrder(principal.getId())
+                : idempotentCheckout.placeOrder(principal.getId(), idempotencyKey);
+        return ResponseEntity.status(HttpStatus.CREATED).body(order);
+    }
+
+    @PostMapping("/async")
+    public ResponseEntity<OrderResponse> queueOrder(@AuthenticationPrincipal UserPrincipal principal) {
+        OrderResponse order = orderService.queueOrder(principal.getId());
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/orders/" + order.getId()))
+                .body(order);
     }
 
     @GetMapping
-    public ResponseEntity<List<Order>> getUserOrders(@AuthenticationPrincipal UserDetails userDetails) {
-        return ResponseEntity.ok(orderService.getUserOrders(userDetails.getUsername()));
+    public ResponseEntity<CursorPage<OrderResponse>> getUserOrders(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(orderService.getUserOrders(principal.getId(), cursor, size));
     }
 
     @GetMapping("/{orderId}")
-    public ResponseEntity<Order> getOrderById(
-            @AuthenticationPrincipal UserDetails userDetails,
+    public ResponseEntity<OrderResponse> getOrderById(
+            @AuthenticationPrincipal UserPrincipal principal,
             @PathVariable Long orderId) {
-        return ResponseEntity.ok(orderService.getOrderById(userDetails.getUsername(), orderId));
+        return ResponseEntity.ok(orderService.getOrderById(principal.getId(), orderId));
     }
 
     @PatchMapping("/admin/{orderId}/status")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Order> updateOrderStatus(
+    public ResponseEntity<OrderResponse> updateOrderStatus(
             @PathVariable Long orderId,
             @RequestParam OrderStatus status) {
         return ResponseEntity.ok(orderService.updateOrderStatus(orderId, status));
     }
 
+    /**
+     * Moves many orders to a new status, given by id or by current status,
+     * where the transition is allowed. Returns an outcome for every order.
+     */
+    @PostMapping("/admin/bulk/status")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkStatusChangeResponse> changeStatuses(
+            @Valid @RequestBody BulkOrderStatusRequest request) {
+        return ResponseEntity.ok(bulkOrderStatusService.changeStatus(request));
+    }
+
     @GetMapping("/admin/all")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<Order>> getAllOrders() {
-        return ResponseEntity.ok(orderService.getAllOrders());
+    public ResponseEntity<CursorPage<OrderResponse>> getAllOrders(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(orderService.getAllOrders(cursor, size));
+    }
+
+    /**
+     * Streams every matching order as one JSON line, gzip-compressed when the
+     * client accepts it. The response is written while the orders are read, so
+     * an export of any size neither waits for nor holds the whole result.
+     */
+    @GetMapping(value = "/admin/export", produces = NDJSON)
+    @PreAuthorize("hasRole('ADMIN')")
+    public void exportOrders(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletResponse response) throws IOException {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        response.setContentType(NDJSON);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename("orders.ndjson").build().toString());
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        OutputStream body = response.getOutputStream();
+        if (gzip) {
+            try (GZIPOutputStream compressed = new GZIPOutputStream(body, 64 * 1024, true)) {
+                orderExportService.exportOrders(from, to, status, compressed);
+            }
+        } else {
+            orderExportService.exportOrders(from, to, status, body);
+        }
+    }
+
+    @GetMapping("/admin/pipeline")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getPipelineStats() {
+        return ResponseEntity.ok(orderService.getPipelineStats());
     }
-}
+}
\ No newline at end of file
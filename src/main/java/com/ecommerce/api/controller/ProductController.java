@@ -1,52 +1,150 @@
 package com.ecommerce.api.controller;
 
 import com.ecommerce.api.dto.request.ProductRequest;
-import com.ecommerce.api.entity.Product;
+import com.ecommerce.api.dto.response.BulkOperationResponse;
+import com.ecommerce.api.dto.response.CursorPage;
+import com.ecommerce.api.dto.response.ProductResponse;
+import com.ecommerce.api.search.SearchResult;
+import com.ecommerce.api.service.ProductImportService;
 import com.ecommerce.api.service.ProductService;
+import com.ecommerce.api.util.ETags;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/products")
 @RequiredArgsConstructor
 public class ProductController {
 
+    private static final String CSV = "text/csv";
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String SEARCH_TRUNCATED = "X-Search-Truncated";
+
     private final ProductService productService;
+    private final ProductImportService productImportService;
+
+    @Value("${http.cache.product-max-age-seconds:0}")
+    private long productMaxAgeSeconds;
+
+    @Value("${http.cache.catalog-max-age-seconds:10}")
+    private long catalogMaxAgeSeconds;
 
+    @Value("${http.cache.search-max-age-seconds:30}")
+    private long searchMaxAgeSeconds;
+
+    /**
+     * The page comes from the catalog cache; on a matching If-None-Match the
+     * response is a 304 and the page is not serialized.
+     */
     @GetMapping
-    public ResponseEntity<List<Product>> getAllProducts() {
-        return ResponseEntity.ok(productService.getAllProducts());
+    public ResponseEntity<CursorPage<ProductResponse>> getAllProducts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPage<ProductResponse> page = productService.getAllProducts(cursor, size);
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl(catalogMaxAgeSeconds))
+                .eTag(ETags.catalogPage(page))
+                .body(page);
     }
 
+    /**
+     * Revalidation compares the product version first, so a 304 does not
+     * load the product.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<Product> getProductById(@PathVariable Long id) {
-        return ResponseEntity.ok(productService.getProductById(id));
+    public ResponseEntity<ProductResponse> getProductById(@PathVariable Long id, WebRequest webRequest) {
+        CacheControl cacheControl = cacheControl(productMaxAgeSeconds);
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            String etag = ETags.product(id, productService.getProductVersion(id));
+            if (webRequest.checkNotModified(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .cacheControl(cacheControl)
+                        .eTag(etag)
+                        .build();
+            }
+        }
+
+        ProductResponse product = productService.getProductById(id);
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .eTag(ETags.product(product.getId(), product.getVersion()))
+                .body(product);
     }
 
+    /**
+     * When a search term is a prefix of more terms than the index expands,
+     * some matches can be missing; the response then says so in the
+     * X-Search-Truncated header.
+     */
     @GetMapping("/search")
-    public ResponseEntity<List<Product>> searchProducts(@RequestParam String name) {
-        return ResponseEntity.ok(productService.searchProducts(name));
+    public ResponseEntity<List<ProductResponse>> searchProducts(
+            @RequestParam String name,
+            @RequestParam(required = false) Integer limit) {
+        SearchResult<ProductResponse> result = productService.searchProducts(name, limit);
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl(searchMaxAgeSeconds))
+                .header(SEARCH_TRUNCATED, String.valueOf(result.truncated()))
+                .body(result.items());
+    }
+
+    @GetMapping("/admin/cache/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        return ResponseEntity.ok(productService.getCacheStats());
     }
 
     @PostMapping("/admin")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Product> createProduct(@Valid @RequestBody ProductRequest productRequest) {
+    public ResponseEntity<ProductResponse> createProduct(@Valid @RequestBody ProductRequest productRequest) {
         return ResponseEntity.status(HttpStatus.CREATED)
-                .body(productService.createProduct(productRequest));
+                .body(productService.toResponse(productService.createProduct(productRequest)));
+    }
+
+    /**
+     * Creates products from a JSON array, NDJSON or CSV (header: name,
+     * description, price, stockQuantity) streamed in the request body.
+     */
+    @PostMapping(value = "/admin/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, NDJSON, CSV})
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkOperationResponse> importProducts(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) throws IOException {
+        return ResponseEntity.ok(productImportService.importProducts(body, isCsv(contentType)));
+    }
+
+    /**
+     * Adds signed stock deltas given as a JSON array, NDJSON or CSV (header:
+     * productId, delta); a delta that would make stock negative is refused.
+     */
+    @PostMapping(value = "/admin/bulk/stock", consumes = {MediaType.APPLICATION_JSON_VALUE, NDJSON, CSV})
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkOperationResponse> adjustStock(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) throws IOException {
+        return ResponseEntity.ok(productImportService.adjustStock(body, isCsv(contentType)));
     }
 
     @PutMapping("/admin/{id}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Product> updateProduct(
+    public ResponseEntity<ProductResponse> updateProduct(
             @PathVariable Long id,
             @Valid @RequestBody ProductRequest productRequest) {
-        return ResponseEntity.ok(productService.updateProduct(id, productRequest));
+        return ResponseEntity.ok(productService.toResponse(productService.updateProduct(id, productRequest)));
     }
 
     @DeleteMapping("/admin/{id}")
@@ -58,9 +156,31 @@ public class ProductController {
 
     @PatchMapping("/admin/{id}/stock")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Product> updateStock(
+    public ResponseEntity<ProductResponse> updateStock(
             @PathVariable Long id,
             @RequestParam Integer quantity) {
-        return ResponseEntity.ok(productService.updateStock(id, quantity));
+        return ResponseEntity.ok(productService.toResponse(productService.updateStock(id, quantity)));
+    }
+
+    @PatchMapping("/admin/{id}/hot")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ProductResponse> setHot(
+            @PathVariable Long id,
+            @RequestParam boolean enabled) {
+        return ResponseEntity.ok(productService.toResponse(productService.setHot(id, enabled)));
+    }
+
+    /**
+     * Private because every product endpoint needs a bearer token; after
+     * max-age the client has to revalidate.
+     */
+    private static CacheControl cacheControl(long maxAgeSeconds) {
+        return CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds))
+                .cachePrivate()
+                .mustRevalidate();
+    }
+
+    private static boolean isCsv(String contentType) {
+        return MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.parseMediaType(CSV));
     }
 }
\ No newline at end of file
@@ -0,0 +1,90 @@
+package com.ecommerce.api.datasource;
+
+import com.ecommerce.api.exception.ServerBusyException;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps the transactions request threads run at once at what the connection
+ * pool can serve. On platform threads Tomcat's worker pool bounds concurrency,
+ * but with virtual threads every request gets its own thread and would
+ * otherwise park on Hikari's queue until connection-timeout. A permit is taken
+ * when a transaction begins and returned when it completes, so requests that
+ * never open one, such as cached catalog pages, are not held back. A
+ * transaction that cannot get a permit within max-wait fails with a 503.
+ * Background work like the checkout workers is not limited. Enabled by default
+ * whenever virtual threads are.
+ */
+@Component
+public class ConnectionBulkhead implements TransactionExecutionListener {
+
+    private final Set<TransactionExecution> holders = ConcurrentHashMap.newKeySet();
+
+    @Value("${web.bulkhead.enabled:${spring.threads.virtual.enabled:false}}")
+    private boolean enabled;
+
+    @Value("${web.bulkhead.max-concurrent:${spring.datasource.hikari.maximum-pool-size:10}}")
+    private int maxConcurrent;
+
+    @Value("${web.bulkhead.max-wait-ms:500}")
+    private long maxWaitMs;
+
+    private Semaphore permits;
+
+    @PostConstruct
+    public void init() {
+        permits = new Semaphore(maxConcurrent, true);
+    }
+
+    @Override
+    public void beforeBegin(TransactionExecution transaction) {
+        if (!enabled || RequestContextHolder.getRequestAttributes() == null) {
+            return;
+        }
+        if (!acquire()) {
+            throw new ServerBusyException("Server is busy, please retry shortly");
+        }
+        holders.add(transaction);
+    }
+
+    @Override
+    public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+        if (beginFailure != null) {
+            release(transaction);
+        }
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        release(transaction);
+    }
+
+    @Override
+    public void afterRollback(TransactionExecution transaction, Throwable rollbackFailure) {
+        release(transaction);
+    }
+
+    private boolean acquire() {
+        try {
+            return permits.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void release(TransactionExecution transaction) {
+        if (holders.remove(transaction)) {
+            permits.release();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.ecommerce.api.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas for read-only transactions. The primary stays configured
+ * under spring.datasource.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "datasource.routing")
+public class DataSourceRoutingProperties {
+
+    private boolean enabled;
+
+    /** How long a user's reads stay on the primary after one of their writes commits. */
+    private long readYourWritesMs = 5000;
+
+    /** Users whose last write is remembered at most. */
+    private long maxTrackedUsers = 100_000;
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    @Data
+    public static class Replica {
+
+        private String url;
+        private String username;
+        private String password;
+        private String driverClassName;
+        private int maximumPoolSize = 10;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.ecommerce.api.dto.request;
+
+import com.ecommerce.api.enums.OrderStatus;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Orders to move to a new status, given either by id or by their current
+ * status (optionally only those created before a point in time).
+ */
+@Data
+public class BulkOrderStatusRequest {
+
+    @NotNull(message = "Status is required")
+    private OrderStatus status;
+
+    @Size(max = 10000, message = "At most 10000 order ids per request")
+    private List<@NotNull(message = "Order ids cannot be null") Long> orderIds;
+
+    private OrderStatus currentStatus;
+
+    private LocalDateTime createdBefore;
+}
\ No newline at end of file
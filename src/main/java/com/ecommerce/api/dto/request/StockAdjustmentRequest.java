@@ -0,0 +1,14 @@
+package com.ecommerce.api.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class StockAdjustmentRequest {
+
+    @NotNull(message = "Product id is required")
+    private Long productId;
+
+    @NotNull(message = "Delta is required")
+    private Integer delta;
+}
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.ecommerce.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk request. Rows are numbered from 1 in input order, not
+ * counting a CSV header; errors beyond the reporting limit are only counted.
+ */
+@Data
+@AllArgsConstructor
+public class BulkOperationResponse {
+    private long received;
+    private long succeeded;
+    private long failed;
+    private List<BulkRowError> errors;
+    private boolean errorsTruncated;
+}
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.ecommerce.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class BulkRowError {
+    private long row;
+    private String message;
+}
\ No newline at end of file
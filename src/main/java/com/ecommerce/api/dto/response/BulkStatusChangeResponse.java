@@ -0,0 +1,24 @@
+package com.ecommerce.api.dto.response;
+
+import com.ecommerce.api.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk status change, one result per order in request order.
+ * hasMore is set when a status filter matched more orders than one request
+ * handles; sending the same request again continues with the rest.
+ */
+@Data
+@AllArgsConstructor
+public class BulkStatusChangeResponse {
+    private OrderStatus status;
+    private long received;
+    private long updated;
+    private long unchanged;
+    private long failed;
+    private boolean hasMore;
+    private List<OrderStatusChange> results;
+}
\ No newline at end of file
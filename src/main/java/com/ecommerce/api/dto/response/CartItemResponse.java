@@ -0,0 +1,29 @@
+package com.ecommerce.api.dto.response;
+
+import com.ecommerce.api.entity.CartItem;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+public class CartItemResponse {
+    private Long id;
+    private Long productId;
+    private String productName;
+    private BigDecimal price;
+    private Integer quantity;
+    private BigDecimal subtotal;
+
+    public static CartItemResponse from(CartItem cartItem) {
+        return new CartItemResponse(
+                cartItem.getId(),
+                cartItem.getProduct().getId(),
+                cartItem.getProduct().getName(),
+                cartItem.getProduct().getPrice(),
+                cartItem.getQuantity(),
+                cartItem.getSubtotal()
+        );
+    }
+}
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.ecommerce.api.dto.response;
+
+import com.ecommerce.api.entity.Cart;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class CartResponse {
+    private Long id;
+    private List<CartItemResponse> items;
+    private int totalItems;
+    private BigDecimal totalAmount;
+
+    public static CartResponse from(Cart cart) {
+        List<CartItemResponse> items = cart.getItems().stream()
+                .map(CartItemResponse::from)
+                .toList();
+        int totalItems = items.stream().mapToInt(CartItemResponse::getQuantity).sum();
+        return new CartResponse(cart.getId(), items, totalItems, cart.getTotalAmount());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.ecommerce.api.dto.response;
+
+import com.ecommerce.api.entity.OrderItem;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+public class OrderItemResponse {
+    private Long id;
+    private Long productId;
+    private String productName;
+    private Integer quantity;
+    private BigDecimal price;
+    private BigDecimal subtotal;
+
+    public static OrderItemResponse from(OrderItem orderItem) {
+        return new OrderItemResponse(
+                orderItem.getId(),
+                orderItem.getProduct().getId(),
+                orderItem.getProduct().getName(),
+                orderItem.getQuantity(),
+                orderItem.getPrice(),
+                orderItem.getPrice().multiply(BigDecimal.valueOf(orderItem.getQuantity()))
+        );
+    }
+}
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.ecommerce.api.dto.response;
+
+import com.ecommerce.api.entity.Order;
+import com.ecommerce.api.entity.OrderItem;
+import com.ecommerce.api.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class OrderResponse {
+    private Long id;
+    private Long userId;
+    private BigDecimal totalAmount;
+    private OrderStatus status;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private List<OrderItemResponse> items;
+
+    public static OrderResponse from(Order order) {
+        return from(order, order.getOrderItems());
+    }
+
+    public static OrderResponse from(Order order, List<OrderItem> orderItems) {
+        return new OrderResponse(
+                order.getId(),
+                order.getUser().getId(),
+                order.getTotalAmount(),
+                order.getStatus(),
+                order.getCreatedAt(),
+                order.getUpdatedAt(),
+                orderItems.stream().map(OrderItemResponse::from).toList()
+        );
+    }
+}
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.ecommerce.api.dto.response;
+
+import com.ecommerce.api.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * What happened to one order in a bulk status change, and the status it has
+ * now as far as known (null when it does not exist or its chunk failed).
+ */
+@Data
+@AllArgsConstructor
+public class OrderStatusChange {
+
+    public enum Outcome {
+        UPDATED,
+        UNCHANGED,
+        NOT_FOUND,
+        INVALID_TRANSITION,
+        CONFLICT,
+        FAILED
+    }
+
+    private Long orderId;
+    private Outcome outcome;
+    private OrderStatus status;
+}
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.ecommerce.api.dto.response;
+
+import com.ecommerce.api.entity.Product;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Immutable copy of a product as the API returns it, safe to keep in the
+ * catalog cache and share between requests. The stock is what customers can
+ * buy, which for hot products includes the units held in memory.
+ */
+@Getter
+@AllArgsConstructor
+public class ProductResponse {
+    private final Long id;
+    private final String name;
+    private final String description;
+    private final BigDecimal price;
+    private final Integer stockQuantity;
+    private final boolean hot;
+    private final Long version;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+
+    public static ProductResponse from(Product product, int availableStock) {
+        return new ProductResponse(
+                product.getId(),
+                product.getName(),
+                product.getDescription(),
+                product.getPrice(),
+                availableStock,
+                product.isHot(),
+                product.getVersion(),
+                product.getCreatedAt(),
+                product.getUpdatedAt()
+        );
+    }
+}
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.ecommerce.api.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * A checkout request key a client has used, and the order it produced. The
+ * row is inserted before the order is placed and commits with it, so the
+ * unique constraint makes a concurrent retry on any instance wait for the
+ * first attempt and then see its order.
+ */
+@Entity
+@Table(name = "idempotency_keys", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_idempotency_keys_user_key", columnNames = {"user_id", "idempotency_key"})
+}, indexes = {
+        @Index(name = "idx_idempotency_keys_created", columnList = "created_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IdempotencyKey extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "idempotency_keys_seq")
+    @SequenceGenerator(name = "idempotency_keys_seq", sequenceName = "idempotency_keys_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "idempotency_key", nullable = false)
+    private String key;
+
+    @Column(name = "order_id")
+    private Long orderId;
+}
\ No newline at end of file
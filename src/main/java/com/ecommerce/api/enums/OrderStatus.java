@@ -1,8 +1,40 @@
 package com.ecommerce.api.enums;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum OrderStatus {
+    QUEUED,
     PENDING,
     SHIPPED,
     DELIVERED,
-    CANCELLED
-}
+    CANCELLED,
+    REJECTED;
+
+    /**
+     * Whether an admin may move an order from this status to the given one.
+     * QUEUED orders are otherwise settled by the checkout pipeline, which
+     * reserves their stock; DELIVERED, CANCELLED and REJECTED are final.
+     */
+    public boolean canTransitionTo(OrderStatus next) {
+        return switch (this) {
+            case QUEUED -> next == CANCELLED;
+            case PENDING -> next == SHIPPED || next == CANCELLED;
+            case SHIPPED -> next == DELIVERED;
+            case DELIVERED, CANCELLED, REJECTED -> false;
+        };
+    }
+
+    /**
+     * The statuses an order may be in to move to the given one.
+     */
+    public static Set<OrderStatus> sourcesOf(OrderStatus next) {
+        Set<OrderStatus> sources = EnumSet.noneOf(OrderStatus.class);
+        for (OrderStatus status : values()) {
+            if (status.canTransitionTo(next)) {
+                sources.add(status);
+            }
+        }
+        return sources;
+    }
+}
\ No newline at end of file
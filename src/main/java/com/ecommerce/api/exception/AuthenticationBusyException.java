@@ -0,0 +1,7 @@
+package com.ecommerce.api.exception;
+
+public class AuthenticationBusyException extends RuntimeException {
+    public AuthenticationBusyException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
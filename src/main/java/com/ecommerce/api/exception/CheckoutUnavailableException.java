@@ -0,0 +1,7 @@
+package com.ecommerce.api.exception;
+
+public class CheckoutUnavailableException extends RuntimeException {
+    public CheckoutUnavailableException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.ecommerce.api.exception;
+
+public class DuplicateResourceException extends RuntimeException {
+    public DuplicateResourceException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
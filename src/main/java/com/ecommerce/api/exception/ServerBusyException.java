@@ -0,0 +1,7 @@
+package com.ecommerce.api.exception;
+
+public class ServerBusyException extends RuntimeException {
+    public ServerBusyException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,276 @@
+package com.ecommerce.api.inventory;
+
+import com.ecommerce.api.cache.ProductCatalogCache;
+import com.ecommerce.api.entity.Product;
+import com.ecommerce.api.repository.ProductRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * In-memory stock for products marked as hot. Each hot product gets a local
+ * counter that is filled by leasing an allotment of units from
+ * products.stock_quantity with a conditional UPDATE, so checkouts reserve with
+ * a CAS on the counter and the product row is written once per allotment
+ * rather than once per order.
+ * <p>
+ * Leases run on a single background thread, never inside a checkout
+ * transaction, so a checkout never needs a second pool connection. Waiting
+ * for a refill happens before the checkout transaction starts. Leased
+ * units are already gone from the table, which means several instances can
+ * hold counters for the same product without overselling. Unsold units are
+ * written back when a product goes idle, is unmarked, or on shutdown. A crash
+ * loses the units still held locally, which undersells until stock is reset.
+ */
+@Component
+@RequiredArgsConstructor
+public class HotInventoryLedger {
+
+    private final ProductRepository productRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ProductCatalogCache catalogCache;
+
+    private final Map<Long, Counter> counters = new ConcurrentHashMap<>();
+    private final ExecutorService refillExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "hot-inventory-refill");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${inventory.hot.allotment:50}")
+    private int allotment;
+
+    @Value("${inventory.hot.refill-wait-ms:100}")
+    private long refillWaitMs;
+
+    @Value("${inventory.hot.idle-return-ms:5000}")
+    private long idleReturnMs;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadHotProducts() {
+        for (Product product : productRepository.findByHotTrue()) {
+            track(product.getId());
+        }
+    }
+
+    public boolean isHot(Long productId) {
+        return counters.containsKey(productId);
+    }
+
+    public void track(Long productId) {
+        counters.putIfAbsent(productId, new Counter());
+    }
+
+    /**
+     * Stops keeping stock for the product and writes its local units back.
+     * Waits for a lease in flight, which hands its units back itself, so the
+     * table is whole again when this returns.
+     */
+    public void untrack(Long productId) {
+        Counter counter = counters.remove(productId);
+        if (counter == null) {
+            return;
+        }
+        while (counter.refillPending.get() && !refillExecutor.isTerminated()) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        returnUnits(productId, counter.units.getAndSet(0));
+    }
+
+    /**
+     * Units held locally for the product on top of its stock_quantity.
+     */
+    public int localUnits(Long productId) {
+        Counter counter = counters.get(productId);
+        return counter == null ? 0 : counter.units.get();
+    }
+
+    public boolean hasHotProducts() {
+        return !counters.isEmpty();
+    }
+
+    /**
+     * Waits briefly for the local counter to hold the quantity, requesting
+     * refills as needed. Called before the checkout transaction is opened, so
+     * the wait never holds a pool connection.
+     */
+    public void awaitUnits(Long productId, int quantity) {
+        Counter counter = counters.get(productId);
+        if (counter == null) {
+            return;
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(refillWaitMs);
+        while (counter.units.get() < quantity && !counter.soldOut && System.nanoTime() < deadline) {
+            requestRefill(productId, counter, quantity);
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+    }
+
+    /**
+     * Takes units from the local counter without waiting; a short counter
+     * requests a refill for the next checkout. Returns false when the units are
+     * not there or the product is not hot.
+     */
+    public boolean tryReserve(Long productId, int quantity) {
+        Counter counter = counters.get(productId);
+        if (counter == null) {
+            return false;
+        }
+        if (counter.tryTake(quantity)) {
+            return true;
+        }
+        requestRefill(productId, counter, quantity);
+        return false;
+    }
+
+    /**
+     * Gives back units of a reservation whose order did not commit.
+     */
+    public void release(Long productId, int quantity) {
+        Counter counter = counters.get(productId);
+        if (counter != null) {
+            addUnits(productId, counter, quantity);
+        } else {
+            returnUnits(productId, quantity);
+        }
+    }
+
+    /**
+     * Drops the local units after an absolute stock update, so the counter is
+     * refilled from the new stock_quantity.
+     */
+    public void resetStock(Long productId) {
+        Counter counter = counters.get(productId);
+        if (counter != null) {
+            counter.units.set(0);
+            counter.soldOut = false;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.hot.flush-interval-ms:1000}")
+    public void returnIdleUnits() {
+        long now = System.currentTimeMillis();
+        counters.forEach((productId, counter) -> {
+            if (now - counter.lastReservedAt > idleReturnMs) {
+                returnUnits(productId, counter.units.getAndSet(0));
+            }
+            counter.soldOut = false;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // A lease still running would otherwise add units after they were returned
+        refillExecutor.shutdown();
+        refillExecutor.awaitTermination(10, TimeUnit.SECONDS);
+        counters.forEach((productId, counter) -> returnUnits(productId, counter.units.getAndSet(0)));
+    }
+
+    private void requestRefill(Long productId, Counter counter, int quantity) {
+        if (counter.refillPending.compareAndSet(false, true)) {
+            refillExecutor.execute(() -> {
+                try {
+                    refill(productId, counter, quantity);
+                } finally {
+                    counter.refillPending.set(false);
+                }
+            });
+        }
+    }
+
+    private void refill(Long productId, Counter counter, int quantity) {
+        if (counters.get(productId) != counter) {
+            return;
+        }
+        int wanted = Math.max(allotment, quantity) - counter.units.get();
+        if (wanted <= 0) {
+            return;
+        }
+
+        // A concurrent writer can lower the stock between the read and the
+        // conditional update; read it again and lease what is left
+        Integer leased = transactionTemplate.execute(status -> {
+            while (true) {
+                int take = Math.min(productRepository.findStockQuantityById(productId).orElse(0), wanted);
+                if (take <= 0) {
+                    return 0;
+                }
+                if (productRepository.decrementStock(Map.of(productId, take)).isEmpty()) {
+                    return take;
+                }
+            }
+        });
+
+        if (leased == null || leased == 0) {
+            counter.soldOut = counter.units.get() < quantity;
+        } else {
+            addUnits(productId, counter, leased);
+            catalogCache.evict(productId);
+        }
+    }
+
+    /**
+     * Adds units to the counter, or hands them back to the table when the
+     * counter was untracked meanwhile, since nothing would read them any more.
+     */
+    private void addUnits(Long productId, Counter counter, int quantity) {
+        counter.units.addAndGet(quantity);
+        if (counters.get(productId) != counter) {
+            returnUnits(productId, counter.units.getAndSet(0));
+        }
+    }
+
+    private void returnUnits(Long productId, int quantity) {
+        if (quantity <= 0) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> productRepository.incrementStock(productId, quantity));
+        catalogCache.evict(productId);
+    }
+
+    private static final class Counter {
+
+        private final AtomicInteger units = new AtomicInteger();
+        private final AtomicBoolean refillPending = new AtomicBoolean();
+        private volatile boolean soldOut;
+        private volatile long lastReservedAt = System.currentTimeMillis();
+
+        private boolean tryTake(int quantity) {
+            int current;
+            do {
+                current = units.get();
+                if (current < quantity) {
+                    return false;
+                }
+            } while (!units.compareAndSet(current, current - quantity));
+            lastReservedAt = System.currentTimeMillis();
+            return true;
+        }
+    }
+}
\ No newline at end of file
@@ -1,14 +1,27 @@
 package com.ecommerce.api.repository;
 
-import com.ecommerce.api.entity.Cart;
 import com.ecommerce.api.entity.CartItem;
-import com.ecommerce.api.entity.Product;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 
 @Repository
 public interface CartItemRepository extends JpaRepository<CartItem, Long> {
-    Optional<CartItem> findByCartAndProduct(Cart cart, Product product);
+
+    /**
+     * Loads the item together with its owning cart, all of the cart's items and
+     * their products. Items outside the user's cart are simply not found.
+     */
+    @Query("SELECT ci FROM CartItem ci JOIN FETCH ci.cart c JOIN FETCH c.items i JOIN FETCH i.product " +
+            "WHERE ci.id = :id AND c.user.id = :userId")
+    Optional<CartItem> findOwnedWithCartById(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM CartItem ci WHERE ci.id = :id " +
+            "AND ci.cart.id IN (SELECT c.id FROM Cart c WHERE c.user.id = :userId)")
+    int deleteOwnedById(@Param("id") Long id, @Param("userId") Long userId);
 }
\ No newline at end of file
@@ -1,7 +1,7 @@
 package com.ecommerce.api.repository;
 
 import com.ecommerce.api.entity.Cart;
-import com.ecommerce.api.entity.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -9,6 +9,6 @@ import java.util.Optional;
 
 @Repository
 public interface CartRepository extends JpaRepository<Cart, Long> {
-    Optional<Cart> findByUser(User user);
-    Optional<Cart> findByUserId(Long userId);
+    @EntityGraph(attributePaths = {"items", "items.product"})
+    Optional<Cart> findWithItemsByUserId(Long userId);
 }
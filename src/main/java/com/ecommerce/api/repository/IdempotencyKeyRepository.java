@@ -0,0 +1,24 @@
+package com.ecommerce.api.repository;
+
+import com.ecommerce.api.entity.IdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, Long> {
+
+    @Query("SELECT k.orderId FROM IdempotencyKey k WHERE k.userId = :userId AND k.key = :key")
+    Optional<Long> findOrderIdByUserIdAndKey(@Param("userId") Long userId, @Param("key") String key);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.createdAt < :before")
+    int deleteCreatedBefore(@Param("before") LocalDateTime before);
+}
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.ecommerce.api.repository;
+
+import com.ecommerce.api.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One order line joined with its order and product, read as a plain value so
+ * an export never fills the persistence context. Orders without lines come
+ * back once with null line columns.
+ */
+@Getter
+@AllArgsConstructor
+public class OrderExportRow {
+    private Long orderId;
+    private Long userId;
+    private BigDecimal totalAmount;
+    private OrderStatus status;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Long itemId;
+    private Long productId;
+    private String productName;
+    private Integer quantity;
+    private BigDecimal price;
+}
\ No newline at end of file
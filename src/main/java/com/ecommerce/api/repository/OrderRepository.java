@@ -1,14 +1,91 @@
 package com.ecommerce.api.repository;
 
 import com.ecommerce.api.entity.Order;
-import com.ecommerce.api.entity.User;
+import com.ecommerce.api.enums.OrderStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
-    List<Order> findByUserOrderByCreatedAtDesc(User user);
-    List<Order> findByUserIdOrderByCreatedAtDesc(Long userId);
-}
+    List<Order> findByIdLessThanOrderByIdDesc(Long id, Pageable pageable);
+    List<Order> findByUserIdOrderByCreatedAtDescIdDesc(Long userId, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"orderItems", "orderItems.product"})
+    Optional<Order> findWithItemsById(Long id);
+
+    @Query("SELECT o FROM Order o WHERE o.user.id = :userId " +
+            "AND (o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id)) " +
+            "ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findUserPageBefore(@Param("userId") Long userId,
+                                   @Param("createdAt") LocalDateTime createdAt,
+                                   @Param("id") Long id,
+                                   Pageable pageable);
+
+    /**
+     * Locks the given orders that are still in the given status, in id order so
+     * concurrent callers cannot deadlock on them.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM Order o WHERE o.id IN :ids AND o.status = :status ORDER BY o.id")
+    List<Order> findForUpdateByIdInAndStatus(@Param("ids") Collection<Long> ids,
+                                             @Param("status") OrderStatus status);
+
+    @Query("SELECT o.id FROM Order o WHERE o.status = :status AND o.createdAt < :before ORDER BY o.id")
+    List<Long> findIdsByStatusCreatedBefore(@Param("status") OrderStatus status,
+                                            @Param("before") LocalDateTime before,
+                                            Pageable pageable);
+
+    @Query("SELECT o.id FROM Order o WHERE o.status = :status AND o.createdAt < :before AND o.id > :afterId " +
+            "ORDER BY o.id")
+    List<Long> findIdsByStatusCreatedBeforeAfterId(@Param("status") OrderStatus status,
+                                                   @Param("before") LocalDateTime before,
+                                                   @Param("afterId") Long afterId,
+                                                   Pageable pageable);
+
+    @Query("SELECT new com.ecommerce.api.repository.OrderStatusRow(o.id, o.status) FROM Order o WHERE o.id IN :ids")
+    List<OrderStatusRow> findStatusesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Moves the given orders that are still in one of the source statuses to
+     * the new status in one statement, without loading them.
+     */
+    @Modifying
+    @Query("UPDATE Order o SET o.status = :status, o.updatedAt = :updatedAt " +
+            "WHERE o.id IN :ids AND o.status IN :sources")
+    int updateStatus(@Param("ids") Collection<Long> ids,
+                     @Param("sources") Collection<OrderStatus> sources,
+                     @Param("status") OrderStatus status,
+                     @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Order lines for an export, oldest order first and grouped by order. Rows
+     * are fetched from the database in chunks as the stream is consumed, which
+     * needs an open transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.ecommerce.api.repository.OrderExportRow(" +
+            "o.id, o.user.id, o.totalAmount, o.status, o.createdAt, o.updatedAt, " +
+            "oi.id, p.id, p.name, oi.quantity, oi.price) " +
+            "FROM Order o LEFT JOIN o.orderItems oi LEFT JOIN oi.product p " +
+            "WHERE o.createdAt >= :from AND o.createdAt < :to AND o.status IN :statuses " +
+            "ORDER BY o.createdAt, o.id, oi.id")
+    Stream<OrderExportRow> streamForExport(@Param("from") LocalDateTime from,
+                                           @Param("to") LocalDateTime to,
+                                           @Param("statuses") Collection<OrderStatus> statuses);
+}
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.ecommerce.api.repository;
+
+import com.ecommerce.api.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * An order's id and status, read without loading the order.
+ */
+@Getter
+@AllArgsConstructor
+public class OrderStatusRow {
+    private Long id;
+    private OrderStatus status;
+}
\ No newline at end of file
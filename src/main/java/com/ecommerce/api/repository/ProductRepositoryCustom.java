@@ -0,0 +1,23 @@
+package com.ecommerce.api.repository;
+
+import java.util.List;
+import java.util.Map;
+
+public interface ProductRepositoryCustom {
+
+    /**
+     * Decrements stock for every product in one JDBC batch, each row only if it
+     * still has enough units. Returns the ids whose update matched no row; the
+     * caller is expected to roll back when the list is not empty.
+     */
+    List<Long> decrementStock(Map<Long, Integer> quantities);
+
+    void incrementStock(Long productId, int quantity);
+
+    /**
+     * Adds each delta to its product's stock in one JDBC batch, leaving a row
+     * unchanged when the result would be negative. Returns the update count of
+     * every entry, 0 for unknown products and refused decrements.
+     */
+    int[] adjustStock(List<Long> productIds, List<Integer> deltas);
+}
\ No newline at end of file
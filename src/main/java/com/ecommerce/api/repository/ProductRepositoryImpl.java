@@ -0,0 +1,90 @@
+package com.ecommerce.api.repository;
+
+import com.ecommerce.api.entity.Product;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@RequiredArgsConstructor
+public class ProductRepositoryImpl implements ProductRepositoryCustom {
+
+    private static final String DECREMENT_STOCK_SQL =
+            "UPDATE products SET stock_quantity = stock_quantity - ?, version = version + 1"
+                    + " WHERE id = ? AND stock_quantity >= ?";
+    private static final String INCREMENT_STOCK_SQL =
+            "UPDATE products SET stock_quantity = stock_quantity + ?, version = version + 1 WHERE id = ?";
+
+    private static final String ADJUST_STOCK_SQL =
+            "UPDATE products SET stock_quantity = stock_quantity + ?, version = version + 1"
+                    + " WHERE id = ? AND stock_quantity + ? >= 0";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public List<Long> decrementStock(Map<Long, Integer> quantities) {
+        // Update rows in id order so concurrent checkouts lock them in the same order
+        List<Long> productIds = new ArrayList<>(new TreeMap<>(quantities).keySet());
+        List<Object[]> batchArgs = new ArrayList<>(productIds.size());
+        for (Long productId : productIds) {
+            Integer quantity = quantities.get(productId);
+            batchArgs.add(new Object[]{quantity, productId, quantity});
+        }
+
+        int[] updateCounts = jdbcTemplate.batchUpdate(DECREMENT_STOCK_SQL, batchArgs);
+        evictFromSecondLevelCache(productIds);
+
+        List<Long> failedIds = new ArrayList<>();
+        for (int i = 0; i < updateCounts.length; i++) {
+            if (updateCounts[i] == 0) {
+                failedIds.add(productIds.get(i));
+            }
+        }
+        return failedIds;
+    }
+
+    @Override
+    public void incrementStock(Long productId, int quantity) {
+        jdbcTemplate.update(INCREMENT_STOCK_SQL, quantity, productId);
+        evictFromSecondLevelCache(List.of(productId));
+    }
+
+    @Override
+    public int[] adjustStock(List<Long> productIds, List<Integer> deltas) {
+        List<Object[]> batchArgs = new ArrayList<>(productIds.size());
+        for (int i = 0; i < productIds.size(); i++) {
+            batchArgs.add(new Object[]{deltas.get(i), productIds.get(i), deltas.get(i)});
+        }
+        int[] updateCounts = jdbcTemplate.batchUpdate(ADJUST_STOCK_SQL, batchArgs);
+        evictFromSecondLevelCache(productIds);
+        return updateCounts;
+    }
+
+    /**
+     * These updates bypass Hibernate, so the products are dropped from the
+     * second-level cache here, and again after commit in case a concurrent
+     * read put the pre-commit row back in the meantime.
+     */
+    private void evictFromSecondLevelCache(Collection<Long> productIds) {
+        Cache cache = entityManagerFactory.getCache();
+        Runnable eviction = () -> productIds.forEach(productId -> cache.evict(Product.class, productId));
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        }
+    }
+}
\ No newline at end of file
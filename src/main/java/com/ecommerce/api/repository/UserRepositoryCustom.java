@@ -0,0 +1,14 @@
+package com.ecommerce.api.repository;
+
+import com.ecommerce.api.entity.User;
+
+import java.util.Optional;
+
+public interface UserRepositoryCustom {
+
+    /**
+     * Looks the user up by natural id, so repeated lookups are answered from
+     * the second-level cache instead of a query.
+     */
+    Optional<User> findByUsername(String username);
+}
\ No newline at end of file
@@ -0,0 +1,223 @@
+package com.ecommerce.api.search;
+
+import com.ecommerce.api.entity.Product;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over product name and description. Terms are kept
+ * in a sorted map so every query term also matches as a prefix; name hits
+ * weigh more than description hits and exact term hits more than prefix hits.
+ * A query only touches the postings of its own terms, so its cost does not
+ * grow with the size of the catalog.
+ * <p>
+ * Each product is indexed with its version and an older snapshot never
+ * replaces a newer one, so the startup load, after-commit updates and the
+ * periodic refresh can run in any order.
+ */
+@Component
+public class ProductSearchIndex {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int NAME_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int EXACT_MATCH_BONUS = 2;
+
+    private final ConcurrentSkipListMap<String, Map<Long, Integer>> postings = new ConcurrentSkipListMap<>();
+    private final Map<Long, IndexedProduct> documents = new ConcurrentHashMap<>();
+    private final Object writeLock = new Object();
+    private volatile boolean ready;
+
+    @Value("${search.min-prefix-length:2}")
+    private int minPrefixLength;
+
+    @Value("${search.max-prefix-expansions:64}")
+    private int maxPrefixExpansions;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void markReady() {
+        ready = true;
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    /**
+     * Indexes the product unless the same or a newer version is already in.
+     * New postings are added before stale ones are dropped, so a concurrent
+     * search finds the product under its old or its new terms, never neither.
+     */
+    public void index(Product product) {
+        long version = product.getVersion() == null ? 0 : product.getVersion();
+        if (isIndexed(product.getId(), version)) {
+            return;
+        }
+
+        Map<String, Integer> weights = new HashMap<>();
+        for (String term : tokenize(product.getName())) {
+            weights.merge(term, NAME_WEIGHT, Integer::sum);
+        }
+        for (String term : tokenize(product.getDescription())) {
+            weights.merge(term, DESCRIPTION_WEIGHT, Integer::sum);
+        }
+
+        synchronized (writeLock) {
+            if (isIndexed(product.getId(), version)) {
+                return;
+            }
+            IndexedProduct previous = documents.get(product.getId());
+            weights.forEach((term, weight) ->
+                    postings.computeIfAbsent(term, t -> new ConcurrentHashMap<>()).put(product.getId(), weight));
+            if (previous != null) {
+                previous.terms().stream()
+                        .filter(term -> !weights.containsKey(term))
+                        .forEach(term -> removePosting(term, product.getId()));
+            }
+            documents.put(product.getId(), new IndexedProduct(version, weights.keySet()));
+        }
+    }
+
+    public void remove(Long productId) {
+        synchronized (writeLock) {
+            IndexedProduct previous = documents.remove(productId);
+            if (previous != null) {
+                previous.terms().forEach(term -> removePosting(term, productId));
+            }
+        }
+    }
+
+    public void indexAfterCommit(Product product) {
+        runAfterCommit(() -> index(product));
+    }
+
+    public void indexAllAfterCommit(Collection<Product> products) {
+        runAfterCommit(() -> products.forEach(this::index));
+    }
+
+    public void removeAfterCommit(Long productId) {
+        runAfterCommit(() -> remove(productId));
+    }
+
+    /**
+     * Returns the ids of the best matching products, best first. Every query
+     * term must match a term of the product, either exactly or as a prefix.
+     * A prefix matching more than max-prefix-expansions terms only uses the
+     * first of them in term order, and the result is flagged as truncated.
+     */
+    public SearchResult<Long> search(String query, int limit) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty() || limit < 1) {
+            return new SearchResult<>(List.of(), false);
+        }
+
+        boolean truncated = false;
+        Map<Long, Integer> scores = null;
+        for (String term : terms) {
+            Map<Long, Integer> termScores = new HashMap<>();
+            truncated |= scoreTerm(term, termScores);
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                Map<Long, Integer> previous = scores;
+                termScores.keySet().retainAll(previous.keySet());
+                termScores.replaceAll((id, score) -> score + previous.get(id));
+                scores = termScores;
+            }
+            if (scores.isEmpty()) {
+                return new SearchResult<>(List.of(), truncated);
+            }
+        }
+
+        Comparator<Map.Entry<Long, Integer>> ranking = Map.Entry.<Long, Integer>comparingByValue()
+                .thenComparing(Map.Entry.<Long, Integer>comparingByKey().reversed());
+        PriorityQueue<Map.Entry<Long, Integer>> top = new PriorityQueue<>(limit + 1, ranking);
+        for (Map.Entry<Long, Integer> entry : scores.entrySet()) {
+            top.offer(entry);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        List<Long> ids = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            ids.add(top.poll().getKey());
+        }
+        Collections.reverse(ids);
+        return new SearchResult<>(ids, truncated);
+    }
+
+    /**
+     * Adds the scores of one query term and returns whether its prefix
+     * expansions were cut off.
+     */
+    private boolean scoreTerm(String term, Map<Long, Integer> scores) {
+        Map<Long, Integer> exact = postings.get(term);
+        if (exact != null) {
+            exact.forEach((id, weight) -> scores.merge(id, weight * EXACT_MATCH_BONUS, Math::max));
+        }
+
+        if (term.length() >= minPrefixLength) {
+            int expansions = 0;
+            for (Map.Entry<String, Map<Long, Integer>> entry
+                    : postings.subMap(term, false, term + Character.MAX_VALUE, false).entrySet()) {
+                if (++expansions > maxPrefixExpansions) {
+                    return true;
+                }
+                entry.getValue().forEach((id, weight) -> scores.merge(id, weight, Math::max));
+            }
+        }
+        return false;
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private boolean isIndexed(Long productId, long version) {
+        IndexedProduct current = documents.get(productId);
+        return current != null && current.version() >= version;
+    }
+
+    private void removePosting(String term, Long productId) {
+        postings.computeIfPresent(term, (t, docs) -> {
+            docs.remove(productId);
+            return docs.isEmpty() ? null : docs;
+        });
+    }
+
+    private static void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private record IndexedProduct(long version, Set<String> terms) {
+    }
+}
\ No newline at end of file
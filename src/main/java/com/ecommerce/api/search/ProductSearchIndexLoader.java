@@ -0,0 +1,71 @@
+package com.ecommerce.api.search;
+
+import com.ecommerce.api.entity.Product;
+import com.ecommerce.api.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Fills the search index from the products table once the application is up,
+ * reading in id order one batch at a time, and then keeps it in step with the
+ * table by reindexing the products changed since the previous pass. That picks
+ * up writes made during the initial load and writes made by other instances;
+ * products deleted elsewhere are dropped when a search no longer finds them.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductSearchIndexLoader {
+
+    private static final int BATCH_SIZE = 1000;
+
+    // Transactions can commit a while after setting updated_at, and instance
+    // clocks differ; rereading unchanged products is cheap, they are skipped
+    private static final Duration REFRESH_OVERLAP = Duration.ofMinutes(1);
+
+    private final ProductRepository productRepository;
+    private final ProductSearchIndex searchIndex;
+
+    private volatile LocalDateTime refreshedUntil;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndex() {
+        LocalDateTime start = LocalDateTime.now();
+        load(lastId -> productRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.ofSize(BATCH_SIZE)));
+        refreshedUntil = start;
+        searchIndex.markReady();
+    }
+
+    @Scheduled(fixedDelayString = "${search.refresh-interval-ms:30000}")
+    public void refreshIndex() {
+        LocalDateTime since = refreshedUntil;
+        if (since == null) {
+            return;
+        }
+        LocalDateTime start = LocalDateTime.now();
+        LocalDateTime changedAfter = since.minus(REFRESH_OVERLAP);
+        load(lastId -> productRepository.findByUpdatedAtAfterAndIdGreaterThanOrderByIdAsc(
+                changedAfter, lastId, PageRequest.ofSize(BATCH_SIZE)));
+        refreshedUntil = start;
+    }
+
+    private void load(Function<Long, List<Product>> nextBatch) {
+        Long lastId = 0L;
+        List<Product> batch;
+        do {
+            batch = nextBatch.apply(lastId);
+            batch.forEach(searchIndex::index);
+            if (!batch.isEmpty()) {
+                lastId = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == BATCH_SIZE);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.ecommerce.api.search;
+
+import java.util.List;
+
+/**
+ * Search hits, best first. Truncated means a query prefix matched more terms
+ * than the index expands, so some matching products may be missing.
+ */
+public record SearchResult<T>(List<T> items, boolean truncated) {
+}
\ No newline at end of file
@@ -1,7 +1,16 @@
 package com.ecommerce.api.security;
 
+import com.ecommerce.api.enums.Role;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -9,56 +18,193 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.util.Date;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Component
+@RequiredArgsConstructor
 public class JwtTokenProvider {
 
+    static final String USER_ID_CLAIM = "uid";
+    static final String ROLE_CLAIM = "role";
+
+    private final TokenRevocationList revocationList;
+    private final MeterRegistry meterRegistry;
+
     @Value("${jwt.secret}")
     private String jwtSecret;
 
     @Value("${jwt.expiration}")
     private long jwtExpirationMs;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    @Value("${jwt.cache.max-size:10000}")
+    private long cacheMaxSize;
+
+    @Value("${jwt.cache.ttl-seconds:300}")
+    private long cacheTtlSeconds;
+
+    private SecretKey signingKey;
+    private JwtParser parser;
+    private Cache<String, Claims> verifiedTokens;
+    private final Map<ValidationOutcome, Counter> validationCounters = new EnumMap<>(ValidationOutcome.class);
+
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new TokenExpiry(TimeUnit.SECONDS.toNanos(cacheTtlSeconds)))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwt.verified-tokens");
+
+        for (ValidationOutcome outcome : ValidationOutcome.values()) {
+            validationCounters.put(outcome, Counter.builder("jwt.validations")
+                    .description("Bearer token validations by outcome")
+                    .tag("outcome", outcome.name().toLowerCase())
+                    .register(meterRegistry));
+        }
     }
 
     public String generateToken(Authentication authentication) {
         UserDetails userPrincipal = (UserDetails) authentication.getPrincipal();
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(userPrincipal.getUsername())
                 .issuedAt(new Date())
-                .expiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(getSigningKey())
-                .compact();
+                .expiration(new Date((new Date()).getTime() + jwtExpirationMs));
+
+        if (userPrincipal instanceof UserPrincipal principal) {
+            builder.claim(USER_ID_CLAIM, principal.getId())
+                    .claim(ROLE_CLAIM, principal.getRole().name());
+        }
+
+        return builder.signWith(signingKey).compact();
     }
 
-    public String getUsernameFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .getSubject();
+    /**
+     * Verifies the token once and returns its claims, or null if it is invalid,
+     * expired or revoked. Recently verified tokens are served from a bounded
+     * cache until they expire, so the signature is not recomputed per request.
+     */
+    public Claims verifyToken(String token) {
+        Claims claims = verifiedTokens.getIfPresent(token);
+        ValidationOutcome outcome = ValidationOutcome.CACHED;
+        if (claims == null) {
+            claims = parse(token);
+            if (claims == null) {
+                return null;
+            }
+            verifiedTokens.put(token, claims);
+            outcome = ValidationOutcome.VERIFIED;
+        } else if (isExpired(claims)) {
+            verifiedTokens.invalidate(token);
+            count(ValidationOutcome.EXPIRED);
+            return null;
+        }
+
+        if (revocationList.isRevoked(claims)) {
+            verifiedTokens.invalidate(token);
+            count(ValidationOutcome.REVOKED);
+            return null;
+        }
+        count(outcome);
+        return claims;
     }
 
-    public boolean validateToken(String authToken) {
+    /**
+     * Builds the principal from the id and role claims of a verified token.
+     * Returns null for tokens issued without those claims, so callers can fall
+     * back to loading the user.
+     */
+    public UserPrincipal getPrincipal(Claims claims) {
+        Long userId = claims.get(USER_ID_CLAIM, Long.class);
+        String role = claims.get(ROLE_CLAIM, String.class);
+        if (userId == null || role == null) {
+            return null;
+        }
+        return UserPrincipal.fromClaims(userId, claims.getSubject(), Role.valueOf(role));
+    }
+
+    public void revokeToken(String token) {
+        Claims claims = verifyToken(token);
+        verifiedTokens.invalidate(token);
+        if (claims != null) {
+            revocationList.revokeToken(claims);
+        }
+    }
+
+    public void revokeAllTokens(String username) {
+        revocationList.revokeSubject(username);
+    }
+
+    private Claims parse(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(authToken);
-            return true;
-        } catch (SecurityException | MalformedJwtException e) {
+            return parser.parseSignedClaims(token).getPayload();
+        } catch (io.jsonwebtoken.security.SecurityException | MalformedJwtException e) {
             System.out.println("Invalid JWT signature: " + e.getMessage());
+            count(ValidationOutcome.INVALID);
         } catch (ExpiredJwtException e) {
             System.out.println("JWT token is expired: " + e.getMessage());
+            count(ValidationOutcome.EXPIRED);
         } catch (UnsupportedJwtException e) {
             System.out.println("JWT token is unsupported: " + e.getMessage());
+            count(ValidationOutcome.UNSUPPORTED);
         } catch (IllegalArgumentException e) {
             System.out.println("JWT claims string is empty: " + e.getMessage());
+            count(ValidationOutcome.EMPTY);
+        } catch (JwtException e) {
+            System.out.println("Invalid JWT token: " + e.getMessage());
+            count(ValidationOutcome.INVALID);
+        }
+        return null;
+    }
+
+    private void count(ValidationOutcome outcome) {
+        validationCounters.get(outcome).increment();
+    }
+
+    private static boolean isExpired(Claims claims) {
+        Date expiration = claims.getExpiration();
+        return expiration != null && expiration.getTime() <= System.currentTimeMillis();
+    }
+
+    private enum ValidationOutcome {
+        VERIFIED,
+        CACHED,
+        EXPIRED,
+        INVALID,
+        UNSUPPORTED,
+        EMPTY,
+        REVOKED
+    }
+
+    private record TokenExpiry(long maxTtlNanos) implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String token, Claims claims, long currentTime) {
+            Date expiration = claims.getExpiration();
+            if (expiration == null) {
+                return maxTtlNanos;
+            }
+            long remainingNanos = TimeUnit.MILLISECONDS.toNanos(expiration.getTime() - System.currentTimeMillis());
+            return Math.max(0, Math.min(maxTtlNanos, remainingNanos));
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String token, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
         }
-        return false;
     }
 }
\ No newline at end of file
@@ -0,0 +1,64 @@
+package com.ecommerce.api.security;
+
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revoked tokens and users. Single tokens are kept by id until they would have
+ * expired anyway; users are kept with a cut-off time, so every token issued
+ * before it is rejected, until all such tokens have expired.
+ * <p>
+ * The list lives in memory and is not shared: a revocation only applies on the
+ * instance that received it and is lost on restart. Run a single instance, or
+ * keep access tokens short-lived, until it is backed by a shared store.
+ */
+@Component
+public class TokenRevocationList {
+
+    private final Map<String, Long> revokedTokenIds = new ConcurrentHashMap<>();
+    private final Map<String, Long> revokedSubjects = new ConcurrentHashMap<>();
+
+    @Value("${jwt.expiration}")
+    private long jwtExpirationMs;
+
+    public void revokeToken(Claims claims) {
+        if (claims.getId() != null && claims.getExpiration() != null) {
+            revokedTokenIds.put(claims.getId(), claims.getExpiration().getTime());
+        }
+        purgeExpired();
+    }
+
+    /**
+     * Token issue times only have second resolution, so the cut-off is the
+     * start of the next second: tokens issued during the second of the
+     * revocation may predate it and are rejected too.
+     */
+    public void revokeSubject(String subject) {
+        revokedSubjects.put(subject, System.currentTimeMillis() / 1000 + 1);
+        purgeExpired();
+    }
+
+    public boolean isRevoked(Claims claims) {
+        if (claims.getId() != null && revokedTokenIds.containsKey(claims.getId())) {
+            return true;
+        }
+        Long cutOffSecond = revokedSubjects.get(claims.getSubject());
+        Date issuedAt = claims.getIssuedAt();
+        return cutOffSecond != null && (issuedAt == null || issuedAt.getTime() / 1000 < cutOffSecond);
+    }
+
+    public int size() {
+        return revokedTokenIds.size() + revokedSubjects.size();
+    }
+
+    private void purgeExpired() {
+        long now = System.currentTimeMillis();
+        revokedTokenIds.values().removeIf(expiresAt -> expiresAt < now);
+        revokedSubjects.values().removeIf(cutOffSecond -> cutOffSecond * 1000 + jwtExpirationMs < now);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,65 @@
+package com.ecommerce.api.security;
+
+import com.ecommerce.api.entity.User;
+import com.ecommerce.api.enums.Role;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Authenticated principal carrying the user id and role, so services can work
+ * with the id directly instead of looking the user up by username again.
+ */
+@Getter
+public class UserPrincipal implements UserDetails {
+
+    private static final Map<Role, List<GrantedAuthority>> AUTHORITIES = new EnumMap<>(Role.class);
+
+    static {
+        for (Role role : Role.values()) {
+            AUTHORITIES.put(role, Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role.name())));
+        }
+    }
+
+    private final Long id;
+    private final String username;
+    private final String password;
+    private final Role role;
+
+    public UserPrincipal(Long id, String username, String password, Role role) {
+        this.id = id;
+        this.username = username;
+        this.password = password;
+        this.role = role;
+    }
+
+    public static UserPrincipal fromUser(User user) {
+        return new UserPrincipal(user.getId(), user.getUsername(), user.getPassword(), user.getRole());
+    }
+
+    public static UserPrincipal fromClaims(Long id, String username, Role role) {
+        return new UserPrincipal(id, username, null, role);
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return AUTHORITIES.get(role);
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+}
@@ -7,51 +7,45 @@ import com.ecommerce.api.dto.response.MessageResponse;
 import com.ecommerce.api.entity.Cart;
 import com.ecommerce.api.entity.User;
 import com.ecommerce.api.enums.Role;
-import com.ecommerce.api.repository.CartRepository;
+import com.ecommerce.api.exception.DuplicateResourceException;
+import com.ecommerce.api.exception.ResourceNotFoundException;
 import com.ecommerce.api.repository.UserRepository;
 import com.ecommerce.api.security.JwtTokenProvider;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Locale;
 
 @Service
 @RequiredArgsConstructor
+@Timed("ecommerce.service")
 public class AuthService {
 
     private final UserRepository userRepository;
-    private final CartRepository cartRepository;
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider tokenProvider;
 
-    @Transactional
+    /**
+     * Inserts the user and their cart in one flush. Duplicate usernames and
+     * emails are caught by the unique constraints rather than checked up front,
+     * which would cost two more queries and still race with a concurrent
+     * sign-up. Not transactional: the password is hashed before the insert
+     * opens its own transaction, so a sign-up does not hold a pool connection
+     * while it waits for the hashing pool.
+     */
     public MessageResponse register(RegisterRequest registerRequest) {
-        if (userRepository.existsByUsername(registerRequest.getUsername())) {
-            throw new RuntimeException("Error: Username is already taken!");
-        }
-
-        if (userRepository.existsByEmail(registerRequest.getEmail())) {
-            throw new RuntimeException("Error: Email is already in use!");
-        }
-
-        User user = User.builder()
-                .username(registerRequest.getUsername())
-                .email(registerRequest.getEmail())
-                .password(passwordEncoder.encode(registerRequest.getPassword()))
-                .role(Role.CUSTOMER)
-                .build();
-
-        User savedUser = userRepository.save(user);
-
-        Cart cart = Cart.builder()
-                .user(savedUser)
-                .build();
-        cartRepository.save(cart);
+        User user = newUser(registerRequest, Role.CUSTOMER);
+        user.assignCart(Cart.builder().build());
+        insert(user);
 
         return new MessageResponse("User registered successfully!");
     }
@@ -79,25 +73,51 @@ public class AuthService {
         );
     }
 
-    @Transactional
-    public MessageResponse registerAdmin(RegisterRequest registerRequest) {
-        if (userRepository.existsByUsername(registerRequest.getUsername())) {
-            throw new RuntimeException("Error: Username is already taken!");
+    public MessageResponse logout(String bearerToken) {
+        if (bearerToken != null && bearerToken.startsWith("Bearer ")) {
+            tokenProvider.revokeToken(bearerToken.substring(7));
         }
+        return new MessageResponse("Logged out successfully");
+    }
 
-        if (userRepository.existsByEmail(registerRequest.getEmail())) {
-            throw new RuntimeException("Error: Email is already in use!");
+    public MessageResponse revokeUserTokens(String username) {
+        if (!userRepository.existsByUsername(username)) {
+            throw new ResourceNotFoundException("User not found with username: " + username);
         }
+        tokenProvider.revokeAllTokens(username);
+        return new MessageResponse("All tokens revoked for user: " + username);
+    }
+
+    public MessageResponse registerAdmin(RegisterRequest registerRequest) {
+        insert(newUser(registerRequest, Role.ADMIN));
+
+        return new MessageResponse("Admin user registered successfully!");
+    }
 
-        User user = User.builder()
+    private User newUser(RegisterRequest registerRequest, Role role) {
+        return User.builder()
                 .username(registerRequest.getUsername())
                 .email(registerRequest.getEmail())
                 .password(passwordEncoder.encode(registerRequest.getPassword()))
-                .role(Role.ADMIN)
+                .role(role)
                 .build();
+    }
 
-        userRepository.save(user);
-
-        return new MessageResponse("Admin user registered successfully!");
+    private void insert(User user) {
+        try {
+            userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException ex) {
+            String constraint = ex.getCause() instanceof ConstraintViolationException violation
+                    && violation.getConstraintName() != null
+                    ? violation.getConstraintName().toLowerCase(Locale.ROOT)
+                    : "";
+            if (constraint.contains(User.USERNAME_CONSTRAINT)) {
+                throw new DuplicateResourceException("Error: Username is already taken!");
+            }
+            if (constraint.contains(User.EMAIL_CONSTRAINT)) {
+                throw new DuplicateResourceException("Error: Email is already in use!");
+            }
+            throw ex;
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,160 @@
+package com.ecommerce.api.service;
+
+import com.ecommerce.api.dto.request.BulkOrderStatusRequest;
+import com.ecommerce.api.dto.response.BulkStatusChangeResponse;
+import com.ecommerce.api.dto.response.OrderStatusChange;
+import com.ecommerce.api.dto.response.OrderStatusChange.Outcome;
+import com.ecommerce.api.enums.OrderStatus;
+import com.ecommerce.api.repository.OrderRepository;
+import com.ecommerce.api.repository.OrderStatusRow;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Status changes for many orders at once, e.g. a warehouse marking a day's
+ * shipments. Orders are handled in chunks, each in its own transaction: one
+ * query reads the current statuses, one UPDATE moves every order whose
+ * transition is allowed, and nothing is loaded as an entity. Every order gets
+ * its own outcome; a chunk that fails as a whole is reported as failed and
+ * the rest continue.
+ */
+@Service
+@RequiredArgsConstructor
+@Timed("ecommerce.service")
+public class BulkOrderStatusService {
+
+    private final OrderRepository orderRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${orders.bulk-status.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${orders.bulk-status.max-orders:10000}")
+    private int maxOrders;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public BulkStatusChangeResponse changeStatus(BulkOrderStatusRequest request) {
+        OrderStatus target = request.getStatus();
+        boolean byIds = request.getOrderIds() != null;
+        if (byIds == (request.getCurrentStatus() != null)) {
+            throw new IllegalArgumentException("Give either orderIds or currentStatus");
+        }
+
+        List<OrderStatusChange> results = new ArrayList<>();
+        boolean hasMore = false;
+        if (byIds) {
+            Set<OrderStatus> sources = OrderStatus.sourcesOf(target);
+            if (sources.isEmpty()) {
+                throw new IllegalArgumentException("No order can be moved to " + target);
+            }
+            List<Long> orderIds = request.getOrderIds().stream().distinct().toList();
+            for (int from = 0; from < orderIds.size(); from += chunkSize) {
+                results.addAll(changeChunk(orderIds.subList(from, Math.min(orderIds.size(), from + chunkSize)),
+                        target, sources));
+            }
+        } else {
+            OrderStatus current = request.getCurrentStatus();
+            if (!current.canTransitionTo(target)) {
+                throw new IllegalArgumentException("Orders cannot move from " + current + " to " + target);
+            }
+            LocalDateTime before = request.getCreatedBefore() != null ? request.getCreatedBefore() : LocalDateTime.now();
+            Long afterId = 0L;
+            while (true) {
+                int limit = Math.min(chunkSize, maxOrders - results.size());
+                List<Long> orderIds = orderRepository.findIdsByStatusCreatedBeforeAfterId(
+                        current, before, afterId, PageRequest.ofSize(Math.max(limit, 1)));
+                if (orderIds.isEmpty()) {
+                    break;
+                }
+                if (limit == 0) {
+                    hasMore = true;
+                    break;
+                }
+                results.addAll(changeChunk(orderIds, target, EnumSet.of(current)));
+                afterId = orderIds.get(orderIds.size() - 1);
+            }
+        }
+        return toResponse(target, results, hasMore);
+    }
+
+    private List<OrderStatusChange> changeChunk(List<Long> orderIds, OrderStatus target, Set<OrderStatus> sources) {
+        try {
+            return transactionTemplate.execute(status -> {
+                Map<Long, OrderStatus> current = statuses(orderIds);
+                List<Long> movable = new ArrayList<>();
+                for (Long orderId : orderIds) {
+                    OrderStatus orderStatus = current.get(orderId);
+                    if (orderStatus != null && orderStatus != target && sources.contains(orderStatus)) {
+                        movable.add(orderId);
+                    }
+                }
+
+                Map<Long, OrderStatus> after = null;
+                if (!movable.isEmpty()) {
+                    int updated = orderRepository.updateStatus(movable, sources, target, LocalDateTime.now());
+                    // Some orders changed between the read and the update; see where they ended up
+                    after = updated == movable.size() ? null : statuses(movable);
+                }
+
+                List<OrderStatusChange> results = new ArrayList<>(orderIds.size());
+                for (Long orderId : orderIds) {
+                    OrderStatus before = current.get(orderId);
+                    if (before == null) {
+                        results.add(new OrderStatusChange(orderId, Outcome.NOT_FOUND, null));
+                    } else if (before == target) {
+                        results.add(new OrderStatusChange(orderId, Outcome.UNCHANGED, target));
+                    } else if (!sources.contains(before)) {
+                        results.add(new OrderStatusChange(orderId, Outcome.INVALID_TRANSITION, before));
+                    } else if (after == null || after.get(orderId) == target) {
+                        results.add(new OrderStatusChange(orderId, Outcome.UPDATED, target));
+                    } else {
+                        results.add(new OrderStatusChange(orderId, Outcome.CONFLICT, after.get(orderId)));
+                    }
+                }
+                return results;
+            });
+        } catch (RuntimeException e) {
+            return orderIds.stream()
+                    .map(orderId -> new OrderStatusChange(orderId, Outcome.FAILED, null))
+                    .toList();
+        }
+    }
+
+    private Map<Long, OrderStatus> statuses(Collection<Long> orderIds) {
+        Map<Long, OrderStatus> statuses = new HashMap<>();
+        for (OrderStatusRow row : orderRepository.findStatusesByIdIn(orderIds)) {
+            statuses.put(row.getId(), row.getStatus());
+        }
+        return statuses;
+    }
+
+    private static BulkStatusChangeResponse toResponse(OrderStatus target, List<OrderStatusChange> results,
+                                                       boolean hasMore) {
+        long updated = 0;
+        long unchanged = 0;
+        for (OrderStatusChange result : results) {
+            if (result.getOutcome() == Outcome.UPDATED) {
+                updated++;
+            } else if (result.getOutcome() == Outcome.UNCHANGED) {
+                unchanged++;
+            }
+        }
+        return new BulkStatusChangeResponse(target, results.size(), updated, unchanged,
+                results.size() - updated - unchanged, hasMore, results);
+    }
+}
\ No newline at end of file
@@ -1,66 +1,69 @@
 package com.ecommerce.api.service;
 
+import com.ecommerce.api.dto.response.CartResponse;
 import com.ecommerce.api.dto.response.MessageResponse;
 import com.ecommerce.api.entity.Cart;
 import com.ecommerce.api.entity.CartItem;
+import com.ecommerce.api.entity.OrderItem;
 import com.ecommerce.api.entity.Product;
-import com.ecommerce.api.entity.User;
 import com.ecommerce.api.exception.InsufficientStockException;
 import com.ecommerce.api.exception.ResourceNotFoundException;
 import com.ecommerce.api.repository.CartItemRepository;
 import com.ecommerce.api.repository.CartRepository;
 import com.ecommerce.api.repository.ProductRepository;
-import com.ecommerce.api.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
+@Timed("ecommerce.service")
 public class CartService {
 
     private final CartRepository cartRepository;
     private final CartItemRepository cartItemRepository;
     private final ProductRepository productRepository;
-    private final UserRepository userRepository;
+    private final InventoryService inventoryService;
 
-    public Cart getCartByUsername(String username) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-
-        return cartRepository.findByUser(user)
+    @Transactional(readOnly = true)
+    public CartResponse getCartByUserId(Long userId) {
+        return cartRepository.findWithItemsByUserId(userId)
+                .map(CartResponse::from)
                 .orElseThrow(() -> new ResourceNotFoundException("Cart not found for user"));
     }
 
     @Transactional
-    public Cart addItemToCart(String username, Long productId, Integer quantity) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-
-        Cart cart = cartRepository.findByUser(user)
+    public CartResponse addItemToCart(Long userId, Long productId, Integer quantity) {
+        Cart cart = cartRepository.findWithItemsByUserId(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Cart not found"));
 
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + productId));
 
-        if (product.getStockQuantity() < quantity) {
+        int availableStock = inventoryService.availableStock(product);
+        if (availableStock < quantity) {
             throw new InsufficientStockException(
                     "Insufficient stock for product: " + product.getName() +
-                            ". Available: " + product.getStockQuantity()
+                            ". Available: " + availableStock
             );
         }
 
-        Optional<CartItem> existingCartItem = cartItemRepository.findByCartAndProduct(cart, product);
+        // Items and their products came with the cart, so no extra lookup is needed
+        Optional<CartItem> existingCartItem = cart.getItems().stream()
+                .filter(cartItem -> cartItem.getProduct().getId().equals(productId))
+                .findFirst();
 
         if (existingCartItem.isPresent()) {
             CartItem cartItem = existingCartItem.get();
             int newQuantity = cartItem.getQuantity() + quantity;
 
-            if (product.getStockQuantity() < newQuantity) {
+            if (availableStock < newQuantity) {
                 throw new InsufficientStockException(
-                        "Cannot add more items. Maximum available: " + product.getStockQuantity()
+                        "Cannot add more items. Maximum available: " + availableStock
                 );
             }
 
@@ -77,64 +80,39 @@ public class CartService {
             cartItemRepository.save(cartItem);
         }
 
-        return cartRepository.save(cart);
+        return CartResponse.from(cartRepository.save(cart));
     }
 
     @Transactional
-    public Cart updateCartItemQuantity(String username, Long cartItemId, Integer quantity) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-
-        Cart cart = cartRepository.findByUser(user)
-                .orElseThrow(() -> new ResourceNotFoundException("Cart not found"));
-
-        CartItem cartItem = cartItemRepository.findById(cartItemId)
+    public CartResponse updateCartItemQuantity(Long userId, Long cartItemId, Integer quantity) {
+        CartItem cartItem = cartItemRepository.findOwnedWithCartById(cartItemId, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Cart item not found"));
 
-        if (!cartItem.getCart().getId().equals(cart.getId())) {
-            throw new IllegalArgumentException("Cart item does not belong to user's cart");
-        }
-
-        Product product = cartItem.getProduct();
-        if (product.getStockQuantity() < quantity) {
+        int availableStock = inventoryService.availableStock(cartItem.getProduct());
+        if (availableStock < quantity) {
             throw new InsufficientStockException(
-                    "Insufficient stock. Available: " + product.getStockQuantity()
+                    "Insufficient stock. Available: " + availableStock
             );
         }
 
         cartItem.setQuantity(quantity);
         cartItemRepository.save(cartItem);
 
-        return cart;
+        return CartResponse.from(cartItem.getCart());
     }
 
     @Transactional
-    public MessageResponse removeItemFromCart(String username, Long cartItemId) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-
-        Cart cart = cartRepository.findByUser(user)
-                .orElseThrow(() -> new ResourceNotFoundException("Cart not found"));
-
-        CartItem cartItem = cartItemRepository.findById(cartItemId)
-                .orElseThrow(() -> new ResourceNotFoundException("Cart item not found"));
-
-        if (!cartItem.getCart().getId().equals(cart.getId())) {
-            throw new IllegalArgumentException("Cart item does not belong to user's cart");
+    public MessageResponse removeItemFromCart(Long userId, Long cartItemId) {
+        if (cartItemRepository.deleteOwnedById(cartItemId, userId) == 0) {
+            throw new ResourceNotFoundException("Cart item not found");
         }
 
-        cart.removeItem(cartItem);
-        cartItemRepository.delete(cartItem);
-
         return new MessageResponse("Item removed from cart successfully");
     }
 
     @Transactional
-    public MessageResponse clearCart(String username) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-
-        Cart cart = cartRepository.findByUser(user)
+    public MessageResponse clearCart(Long userId) {
+        Cart cart = cartRepository.findWithItemsByUserId(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Cart not found"));
 
         cart.clearCart();
@@ -142,4 +120,32 @@ public class CartService {
 
         return new MessageResponse("Cart cleared successfully");
     }
+
+    /**
+     * Puts the lines of an order that could not be placed back into the
+     * buyer's cart, merged with anything added since. Stock is not checked,
+     * the order was turned down for lack of it.
+     */
+    @Transactional
+    public void restoreItems(Long userId, List<OrderItem> orderItems) {
+        cartRepository.findWithItemsByUserId(userId).ifPresent(cart -> {
+            for (OrderItem orderItem : orderItems) {
+                Long productId = orderItem.getProduct().getId();
+                Optional<CartItem> existingCartItem = cart.getItems().stream()
+                        .filter(cartItem -> cartItem.getProduct().getId().equals(productId))
+                        .findFirst();
+
+                if (existingCartItem.isPresent()) {
+                    CartItem cartItem = existingCartItem.get();
+                    cartItem.setQuantity(cartItem.getQuantity() + orderItem.getQuantity());
+                } else {
+                    cart.addItem(CartItem.builder()
+                            .product(orderItem.getProduct())
+                            .quantity(orderItem.getQuantity())
+                            .build());
+                }
+            }
+            cartRepository.save(cart);
+        });
+    }
 }
\ No newline at end of file
@@ -0,0 +1,107 @@
+package com.ecommerce.api.service;
+
+import com.ecommerce.api.entity.Product;
+import com.ecommerce.api.inventory.HotInventoryLedger;
+import com.ecommerce.api.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class InventoryService {
+
+    private final ProductRepository productRepository;
+    private final HotInventoryLedger hotInventoryLedger;
+
+    /**
+     * Reserves stock for every line, hot products from the in-memory ledger and
+     * the rest with conditional updates. Returns the ids that could not be
+     * reserved; in that case hot reservations are already released and the
+     * caller must roll back. Hot reservations are also released if the
+     * surrounding transaction rolls back later.
+     */
+    public List<Long> reserve(Map<Long, Integer> quantities) {
+        return reserve(quantities, false);
+    }
+
+    /**
+     * Like {@link #reserve(Map)}, but when some lines fail the regular lines
+     * that did succeed are put back, so a single order can be turned down
+     * without rolling back a transaction it shares with other orders.
+     */
+    public List<Long> reserveOrRestore(Map<Long, Integer> quantities) {
+        return reserve(quantities, true);
+    }
+
+    /**
+     * Waits for the hot product counters to cover the quantities. Call it
+     * before opening the transaction that reserves them, since
+     * {@link #reserve(Map)} does not wait for a refill.
+     */
+    public void awaitHotStock(Map<Long, Integer> quantities) {
+        quantities.forEach(hotInventoryLedger::awaitUnits);
+    }
+
+    public boolean hasHotProducts() {
+        return hotInventoryLedger.hasHotProducts();
+    }
+
+    public int availableStock(Product product) {
+        return product.getStockQuantity() + hotInventoryLedger.localUnits(product.getId());
+    }
+
+    private List<Long> reserve(Map<Long, Integer> quantities, boolean restoreOnFailure) {
+        Map<Long, Integer> regular = new HashMap<>();
+        Map<Long, Integer> reservedHot = new HashMap<>();
+        List<Long> failedIds = new ArrayList<>();
+
+        quantities.forEach((productId, quantity) -> {
+            if (!hotInventoryLedger.isHot(productId)) {
+                regular.put(productId, quantity);
+            } else if (hotInventoryLedger.tryReserve(productId, quantity)) {
+                reservedHot.put(productId, quantity);
+            } else {
+                failedIds.add(productId);
+            }
+        });
+
+        if (failedIds.isEmpty() && !regular.isEmpty()) {
+            failedIds.addAll(productRepository.decrementStock(regular));
+            if (restoreOnFailure && !failedIds.isEmpty()) {
+                regular.forEach((productId, quantity) -> {
+                    if (!failedIds.contains(productId)) {
+                        productRepository.incrementStock(productId, quantity);
+                    }
+                });
+            }
+        }
+
+        if (!failedIds.isEmpty()) {
+            reservedHot.forEach(hotInventoryLedger::release);
+        } else if (!reservedHot.isEmpty()) {
+            releaseOnRollback(reservedHot);
+        }
+        return failedIds;
+    }
+
+    private void releaseOnRollback(Map<Long, Integer> reservedHot) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    reservedHot.forEach(hotInventoryLedger::release);
+                }
+            }
+        });
+    }
+}
\ No newline at end of file
@@ -0,0 +1,100 @@
+package com.ecommerce.api.service;
+
+import com.ecommerce.api.dto.response.OrderItemResponse;
+import com.ecommerce.api.dto.response.OrderResponse;
+import com.ecommerce.api.enums.OrderStatus;
+import com.ecommerce.api.repository.OrderExportRow;
+import com.ecommerce.api.repository.OrderRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Writes orders as NDJSON, one {@link OrderResponse} per line, while reading
+ * them. Rows are plain values streamed from a forward-only cursor, so memory
+ * use depends on the size of one order rather than on the number of orders.
+ */
+@Service
+@RequiredArgsConstructor
+@Timed("ecommerce.service")
+public class OrderExportService {
+
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    private final OrderRepository orderRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${export.orders.flush-every:500}")
+    private int flushEvery;
+
+    /**
+     * Exports orders created in [from, to) with the given status; null means
+     * no bound. Returns the number of orders written.
+     */
+    @Transactional(readOnly = true)
+    public long exportOrders(LocalDateTime from, LocalDateTime to, OrderStatus status, OutputStream out)
+            throws IOException {
+        Collection<OrderStatus> statuses = status == null ? EnumSet.allOf(OrderStatus.class) : EnumSet.of(status);
+
+        long written = 0;
+        try (Stream<OrderExportRow> rows = orderRepository.streamForExport(
+                from == null ? EARLIEST : from, to == null ? LATEST : to, statuses)) {
+            OrderExportRow current = null;
+            List<OrderItemResponse> items = new ArrayList<>();
+
+            for (Iterator<OrderExportRow> iterator = rows.iterator(); iterator.hasNext(); ) {
+                OrderExportRow row = iterator.next();
+                if (current != null && !current.getOrderId().equals(row.getOrderId())) {
+                    writeLine(out, current, items);
+                    items = new ArrayList<>();
+                    if (++written % flushEvery == 0) {
+                        out.flush();
+                    }
+                }
+                current = row;
+                if (row.getItemId() != null) {
+                    items.add(new OrderItemResponse(
+                            row.getItemId(),
+                            row.getProductId(),
+                            row.getProductName(),
+                            row.getQuantity(),
+                            row.getPrice(),
+                            row.getPrice().multiply(BigDecimal.valueOf(row.getQuantity()))
+                    ));
+                }
+            }
+
+            if (current != null) {
+                writeLine(out, current, items);
+                written++;
+            }
+        }
+        out.flush();
+        return written;
+    }
+
+    private void writeLine(OutputStream out, OrderExportRow order, List<OrderItemResponse> items) throws IOException {
+        OrderResponse response = new OrderResponse(
+                order.getOrderId(),
+                order.getUserId(),
+                order.getTotalAmount(),
+                order.getStatus(),
+                order.getCreatedAt(),
+                order.getUpdatedAt(),
+                items
+        );
+        out.write(objectMapper.writeValueAsBytes(response));
+        out.write('\n');
+    }
+}
\ No newline at end of file
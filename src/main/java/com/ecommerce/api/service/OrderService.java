@@ -1,121 +1,310 @@
 package com.ecommerce.api.service;
 
+import com.ecommerce.api.cache.ProductCatalogCache;
+import com.ecommerce.api.checkout.CheckoutMetrics;
+import com.ecommerce.api.checkout.CheckoutPipeline;
+import com.ecommerce.api.dto.response.CursorPage;
+import com.ecommerce.api.dto.response.OrderResponse;
 import com.ecommerce.api.entity.*;
 import com.ecommerce.api.enums.OrderStatus;
+import com.ecommerce.api.exception.CheckoutUnavailableException;
 import com.ecommerce.api.exception.InsufficientStockException;
 import com.ecommerce.api.exception.ResourceNotFoundException;
 import com.ecommerce.api.repository.*;
+import com.ecommerce.api.util.CursorCodec;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed("ecommerce.service")
 public class OrderService {
 
     private final OrderRepository orderRepository;
     private final OrderItemRepository orderItemRepository;
     private final CartRepository cartRepository;
-    private final ProductRepository productRepository;
+    private final InventoryService inventoryService;
     private final UserRepository userRepository;
+    private final ProductCatalogCache catalogCache;
+    private final CheckoutPipeline checkoutPipeline;
+    private final CheckoutMetrics checkoutMetrics;
+    private final PlatformTransactionManager transactionManager;
 
+    @Value("${pagination.default-size:20}")
+    private int defaultPageSize;
+
+    @Value("${pagination.max-size:100}")
+    private int maxPageSize;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Places the order in its own transaction, after waiting for hot stock.
+     * Callers that already hold a transaction call {@link #awaitHotStock(Long)}
+     * themselves before opening it.
+     */
+    public OrderResponse placeOrder(Long userId) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            awaitHotStock(userId);
+        }
+        return transactionTemplate.execute(status -> checkout(userId));
+    }
+
+    /**
+     * Waits for the hot products in the cart to be stocked locally, so a
+     * refill never keeps a checkout transaction and its connection open.
+     */
+    public void awaitHotStock(Long userId) {
+        if (!inventoryService.hasHotProducts()) {
+            return;
+        }
+        cartRepository.findWithItemsByUserId(userId).ifPresent(cart -> {
+            Map<Long, Integer> quantities = new HashMap<>();
+            for (CartItem cartItem : cart.getItems()) {
+                quantities.merge(cartItem.getProduct().getId(), cartItem.getQuantity(), Integer::sum);
+            }
+            inventoryService.awaitHotStock(quantities);
+        });
+    }
+
+    private OrderResponse checkout(Long userId) {
+        Cart cart = findCheckoutCart(userId);
+        Map<Long, Integer> quantities;
+        try {
+            quantities = checkAvailability(cart);
+            reserveStock(cart, quantities);
+        } catch (InsufficientStockException e) {
+            checkoutMetrics.rejected(false, 1);
+            throw e;
+        }
+
+        // Order items are inserted through the cascade, batched with the order on flush
+        Order savedOrder = orderRepository.save(buildOrder(userId, cart, OrderStatus.PENDING));
+
+        catalogCache.evictAll(quantities.keySet());
+
+        cart.clearCart();
+        cartRepository.save(cart);
+
+        afterCommit(() -> checkoutMetrics.placed(false, 1));
+        return OrderResponse.from(savedOrder);
+    }
+
+    /**
+     * Validates the cart and stores the order as QUEUED without touching stock;
+     * the checkout pipeline reserves it later and moves the order to PENDING or
+     * REJECTED.
+     */
     @Transactional
-    public Order placeOrder(String username) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+    public OrderResponse queueOrder(Long userId) {
+        if (!checkoutPipeline.hasCapacity()) {
+            throw new CheckoutUnavailableException("Checkout is busy, please retry shortly");
+        }
 
-        Cart cart = cartRepository.findByUser(user)
+        Cart cart = findCheckoutCart(userId);
+        try {
+            checkAvailability(cart);
+        } catch (InsufficientStockException e) {
+            checkoutMetrics.rejected(true, 1);
+            throw e;
+        }
+
+        Order savedOrder = orderRepository.save(buildOrder(userId, cart, OrderStatus.QUEUED));
+
+        cart.clearCart();
+        cartRepository.save(cart);
+
+        Long orderId = savedOrder.getId();
+        afterCommit(() -> {
+            checkoutMetrics.queued();
+            checkoutPipeline.submit(orderId);
+        });
+
+        return OrderResponse.from(savedOrder);
+    }
+
+    public Map<String, Object> getPipelineStats() {
+        return checkoutPipeline.statsSummary();
+    }
+
+    private Cart findCheckoutCart(Long userId) {
+        Cart cart = cartRepository.findWithItemsByUserId(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Cart not found"));
 
         if (cart.getItems().isEmpty()) {
             throw new IllegalStateException("Cannot place order with empty cart");
         }
+        return cart;
+    }
 
-        BigDecimal totalAmount = BigDecimal.ZERO;
+    /**
+     * Checks every line against the currently available stock and returns the
+     * requested quantity per product.
+     */
+    private Map<Long, Integer> checkAvailability(Cart cart) {
+        Map<Long, Integer> quantities = new HashMap<>();
 
         for (CartItem cartItem : cart.getItems()) {
             Product product = cartItem.getProduct();
             Integer requestedQuantity = cartItem.getQuantity();
 
-            if (product.getStockQuantity() < requestedQuantity) {
+            int availableStock = inventoryService.availableStock(product);
+            if (availableStock < requestedQuantity) {
                 throw new InsufficientStockException(
                         "Insufficient stock for product: " + product.getName() +
-                                ". Available: " + product.getStockQuantity() +
+                                ". Available: " + availableStock +
                                 ", Requested: " + requestedQuantity
                 );
             }
 
-            BigDecimal itemTotal = product.getPrice()
-                    .multiply(BigDecimal.valueOf(requestedQuantity));
-            totalAmount = totalAmount.add(itemTotal);
+            quantities.merge(product.getId(), requestedQuantity, Integer::sum);
         }
+        return quantities;
+    }
 
+    private Order buildOrder(Long userId, Cart cart, OrderStatus status) {
         Order order = Order.builder()
-                .user(user)
-                .totalAmount(totalAmount)
-                .status(OrderStatus.PENDING)
+                .user(userRepository.getReferenceById(userId))
+                .totalAmount(cart.getTotalAmount())
+                .status(status)
                 .build();
 
-        Order savedOrder = orderRepository.save(order);
-
         for (CartItem cartItem : cart.getItems()) {
             Product product = cartItem.getProduct();
-            Integer quantity = cartItem.getQuantity();
 
-            OrderItem orderItem = OrderItem.builder()
-                    .order(savedOrder)
+            order.addOrderItem(OrderItem.builder()
                     .product(product)
-                    .quantity(quantity)
+                    .quantity(cartItem.getQuantity())
                     .price(product.getPrice())
-                    .build();
-
-            savedOrder.addOrderItem(orderItem);
-            orderItemRepository.save(orderItem);
-
-            product.setStockQuantity(product.getStockQuantity() - quantity);
-            productRepository.save(product);
+                    .build());
         }
+        return order;
+    }
 
-        cart.clearCart();
-        cartRepository.save(cart);
+    private void reserveStock(Cart cart, Map<Long, Integer> quantities) {
+        List<Long> failedIds = inventoryService.reserve(quantities);
+        if (failedIds.isEmpty()) {
+            return;
+        }
 
-        return savedOrder;
+        CartItem failedItem = cart.getItems().stream()
+                .filter(cartItem -> failedIds.contains(cartItem.getProduct().getId()))
+                .findFirst()
+                .orElseThrow();
+        throw new InsufficientStockException(
+                "Insufficient stock for product: " + failedItem.getProduct().getName() +
+                        ". Requested: " + failedItem.getQuantity()
+        );
     }
 
-    public List<Order> getUserOrders(String username) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+    @Transactional(readOnly = true)
+    public CursorPage<OrderResponse> getUserOrders(Long userId, String cursor, Integer size) {
+        int pageSize = CursorCodec.pageSize(size, defaultPageSize, maxPageSize);
+        Pageable limit = PageRequest.ofSize(pageSize + 1);
 
-        return orderRepository.findByUserOrderByCreatedAtDesc(user);
-    }
+        List<Order> rows;
+        if (cursor == null) {
+            rows = orderRepository.findByUserIdOrderByCreatedAtDescIdDesc(userId, limit);
+        } else {
+            String[] key = CursorCodec.decode(cursor, 2);
+            try {
+                rows = orderRepository.findUserPageBefore(userId, LocalDateTime.parse(key[0]), Long.valueOf(key[1]), limit);
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
 
-    public Order getOrderById(String username, Long orderId) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(toResponses(rows), null, rows.size());
+        }
+        List<Order> items = rows.subList(0, pageSize);
+        Order last = items.get(pageSize - 1);
+        return new CursorPage<>(toResponses(items), CursorCodec.encode(last.getCreatedAt(), last.getId()), pageSize);
+    }
 
-        Order order = orderRepository.findById(orderId)
+    @Transactional(readOnly = true)
+    public OrderResponse getOrderById(Long userId, Long orderId) {
+        Order order = orderRepository.findWithItemsById(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
 
-        if (!order.getUser().getId().equals(user.getId())) {
+        if (!order.getUser().getId().equals(userId)) {
             throw new IllegalArgumentException("Order does not belong to user");
         }
 
-        return order;
+        return OrderResponse.from(order);
     }
 
     @Transactional
-    public Order updateOrderStatus(Long orderId, OrderStatus status) {
-        Order order = orderRepository.findById(orderId)
+    public OrderResponse updateOrderStatus(Long orderId, OrderStatus status) {
+        Order order = orderRepository.findWithItemsById(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
 
+        // Same rules as the bulk endpoint; asking for the current status changes nothing
+        if (order.getStatus() != status && !order.getStatus().canTransitionTo(status)) {
+            throw new IllegalArgumentException("Order cannot move from " + order.getStatus() + " to " + status);
+        }
         order.setStatus(status);
-        return orderRepository.save(order);
+        return OrderResponse.from(orderRepository.save(order));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<OrderResponse> getAllOrders(String cursor, Integer size) {
+        int pageSize = CursorCodec.pageSize(size, defaultPageSize, maxPageSize);
+        Long beforeId = cursor == null ? Long.MAX_VALUE : CursorCodec.decodeId(cursor);
+
+        List<Order> rows = orderRepository.findByIdLessThanOrderByIdDesc(beforeId, PageRequest.ofSize(pageSize + 1));
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(toResponses(rows), null, rows.size());
+        }
+        List<Order> items = rows.subList(0, pageSize);
+        return new CursorPage<>(toResponses(items), CursorCodec.encode(items.get(pageSize - 1).getId()), pageSize);
     }
 
-    public List<Order> getAllOrders() {
-        return orderRepository.findAll();
+    /**
+     * Maps a page of orders with one extra query that fetches all their items
+     * and products, instead of initializing each order's collection.
+     */
+    private List<OrderResponse> toResponses(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<OrderItem>> itemsByOrderId = orderItemRepository.findWithProductByOrderIdIn(
+                        orders.stream().map(Order::getId).toList()).stream()
+                .collect(Collectors.groupingBy(orderItem -> orderItem.getOrder().getId()));
+
+        return orders.stream()
+                .map(order -> OrderResponse.from(order, itemsByOrderId.getOrDefault(order.getId(), List.of())))
+                .toList();
+    }
+
+    private static void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 }
\ No newline at end of file
@@ -0,0 +1,298 @@
+package com.ecommerce.api.service;
+
+import com.ecommerce.api.cache.ProductCatalogCache;
+import com.ecommerce.api.dto.request.ProductRequest;
+import com.ecommerce.api.dto.request.StockAdjustmentRequest;
+import com.ecommerce.api.dto.response.BulkOperationResponse;
+import com.ecommerce.api.dto.response.BulkRowError;
+import com.ecommerce.api.entity.Product;
+import com.ecommerce.api.repository.ProductRepository;
+import com.ecommerce.api.search.ProductSearchIndex;
+import com.ecommerce.api.util.CsvRecordReader;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Bulk catalog writes for ERP syncs. The body is parsed one row at a time
+ * (a JSON array, NDJSON or CSV with a header row) and valid rows are written
+ * in chunks, each chunk in its own transaction with JDBC batching and one
+ * cache invalidation. Invalid rows are reported and skipped; a chunk that
+ * fails as a whole is reported row by row and the import continues.
+ */
+@Service
+@RequiredArgsConstructor
+@Timed("ecommerce.service")
+public class ProductImportService {
+
+    private final ProductRepository productRepository;
+    private final ProductCatalogCache catalogCache;
+    private final ProductSearchIndex searchIndex;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @Value("${catalog.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${catalog.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public BulkOperationResponse importProducts(InputStream body, boolean csv) throws IOException {
+        RowSource<ProductRequest> rows = csv
+                ? csvRows(body, new String[]{"name", "price", "stockQuantity"}, record -> {
+                    ProductRequest request = new ProductRequest();
+                    request.setName(record.get("name"));
+                    request.setDescription(record.get("description"));
+                    request.setPrice(record.get("price") == null ? null : new BigDecimal(record.get("price")));
+                    request.setStockQuantity(integer(record.get("stockQuantity")));
+                    return request;
+                })
+                : jsonRows(body, ProductRequest.class);
+        return process(rows, this::insertProducts);
+    }
+
+    public BulkOperationResponse adjustStock(InputStream body, boolean csv) throws IOException {
+        RowSource<StockAdjustmentRequest> rows = csv
+                ? csvRows(body, new String[]{"productId", "delta"}, record -> {
+                    StockAdjustmentRequest request = new StockAdjustmentRequest();
+                    request.setProductId(record.get("productId") == null ? null : Long.valueOf(record.get("productId")));
+                    request.setDelta(integer(record.get("delta")));
+                    return request;
+                })
+                : jsonRows(body, StockAdjustmentRequest.class);
+        return process(rows, this::applyStockDeltas);
+    }
+
+    /**
+     * Persists the chunk with batched inserts and clears the persistence
+     * context, so memory does not grow with the size of the import.
+     */
+    private List<String> insertProducts(List<ProductRequest> requests) {
+        List<Product> products = new ArrayList<>(requests.size());
+        for (ProductRequest request : requests) {
+            Product product = Product.builder()
+                    .name(request.getName())
+                    .description(request.getDescription())
+                    .price(request.getPrice())
+                    .stockQuantity(request.getStockQuantity())
+                    .build();
+            entityManager.persist(product);
+            products.add(product);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        catalogCache.evictPages(products.stream().map(Product::getId).toList());
+        searchIndex.indexAllAfterCommit(products);
+        return Collections.nCopies(products.size(), null);
+    }
+
+    /**
+     * Applies the deltas in product id order, so concurrent chunks and
+     * checkouts lock rows in the same order.
+     */
+    private List<String> applyStockDeltas(List<StockAdjustmentRequest> adjustments) {
+        Integer[] order = new Integer[adjustments.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparing((Integer i) -> adjustments.get(i).getProductId()));
+
+        List<Long> productIds = new ArrayList<>(order.length);
+        List<Integer> deltas = new ArrayList<>(order.length);
+        for (Integer index : order) {
+            productIds.add(adjustments.get(index).getProductId());
+            deltas.add(adjustments.get(index).getDelta());
+        }
+        int[] updateCounts = productRepository.adjustStock(productIds, deltas);
+
+        String[] errors = new String[order.length];
+        for (int k = 0; k < order.length; k++) {
+            if (updateCounts[k] == 0) {
+                errors[order[k]] = "Product " + productIds.get(k) + " not found or stock would become negative";
+            }
+        }
+        catalogCache.evictAll(new HashSet<>(productIds));
+        return Arrays.asList(errors);
+    }
+
+    private <T> BulkOperationResponse process(RowSource<T> rows, Function<List<T>, List<String>> writer)
+            throws IOException {
+        Report report = new Report(maxReportedErrors);
+        List<Row<T>> chunk = new ArrayList<>(chunkSize);
+        while (true) {
+            Row<T> row;
+            try {
+                row = rows.next();
+            } catch (JacksonException | IllegalArgumentException e) {
+                report.received++;
+                report.fail(report.received, "Malformed input, nothing after this row was read: " + message(e));
+                break;
+            }
+            if (row == null) {
+                break;
+            }
+
+            report.received++;
+            String error = row.error() != null ? row.error() : violations(row.value());
+            if (error != null) {
+                report.fail(row.number(), error);
+                continue;
+            }
+            chunk.add(row);
+            if (chunk.size() == chunkSize) {
+                writeChunk(chunk, writer, report);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            writeChunk(chunk, writer, report);
+        }
+        return report.toResponse();
+    }
+
+    private <T> void writeChunk(List<Row<T>> chunk, Function<List<T>, List<String>> writer, Report report) {
+        List<T> values = chunk.stream().map(Row::value).toList();
+        List<String> errors;
+        try {
+            errors = transactionTemplate.execute(status -> writer.apply(values));
+        } catch (RuntimeException e) {
+            String message = "Chunk rolled back: " + message(e);
+            chunk.forEach(row -> report.fail(row.number(), message));
+            return;
+        }
+        for (int i = 0; i < chunk.size(); i++) {
+            if (errors.get(i) == null) {
+                report.succeeded++;
+            } else {
+                report.fail(chunk.get(i).number(), errors.get(i));
+            }
+        }
+    }
+
+    private <T> RowSource<T> jsonRows(InputStream body, Class<T> type) {
+        MappingIterator<JsonNode> nodes = objectMapper.readerFor(JsonNode.class).readValues(body);
+        long[] number = {0};
+        return () -> {
+            if (!nodes.hasNextValue()) {
+                return null;
+            }
+            JsonNode node = nodes.nextValue();
+            number[0]++;
+            try {
+                return new Row<>(number[0], objectMapper.treeToValue(node, type), null);
+            } catch (JacksonException e) {
+                return new Row<>(number[0], null, "Invalid value: " + e.getOriginalMessage());
+            }
+        };
+    }
+
+    private <T> RowSource<T> csvRows(InputStream body, String[] requiredColumns,
+                                     Function<CsvRecordReader.Record, T> mapper) throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        reader.requireColumns(requiredColumns);
+        long[] number = {0};
+        return () -> {
+            CsvRecordReader.Record record = reader.next();
+            if (record == null) {
+                return null;
+            }
+            number[0]++;
+            try {
+                return new Row<>(number[0], mapper.apply(record), null);
+            } catch (NumberFormatException e) {
+                return new Row<>(number[0], null, "Invalid number: " + e.getMessage());
+            }
+        };
+    }
+
+    private String violations(Object value) {
+        Set<ConstraintViolation<Object>> violations = validator.validate(value);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .reduce((first, second) -> first + "; " + second)
+                .orElseThrow();
+    }
+
+    private static Integer integer(String value) {
+        return value == null ? null : Integer.valueOf(value);
+    }
+
+    private static String message(Exception e) {
+        Throwable cause = e;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause.getMessage();
+    }
+
+    @FunctionalInterface
+    private interface RowSource<T> {
+
+        /**
+         * The next row, or null at the end of the input. A row that could not
+         * be read carries an error instead of a value.
+         */
+        Row<T> next() throws IOException;
+    }
+
+    private record Row<T>(long number, T value, String error) {
+    }
+
+    private static final class Report {
+
+        private final int maxErrors;
+        private final List<BulkRowError> errors = new ArrayList<>();
+        private long received;
+        private long succeeded;
+        private long failed;
+
+        private Report(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        private void fail(long row, String message) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(new BulkRowError(row, message));
+            }
+        }
+
+        private BulkOperationResponse toResponse() {
+            errors.sort(Comparator.comparingLong(BulkRowError::getRow));
+            return new BulkOperationResponse(received, succeeded, failed, errors, failed > errors.size());
+        }
+    }
+}
\ No newline at end of file
@@ -1,32 +1,132 @@
 package com.ecommerce.api.service;
 
+import com.ecommerce.api.cache.ProductCatalogCache;
+import com.ecommerce.api.cache.SecondLevelCacheStats;
 import com.ecommerce.api.dto.request.ProductRequest;
+import com.ecommerce.api.dto.response.CursorPage;
+import com.ecommerce.api.dto.response.ProductResponse;
 import com.ecommerce.api.entity.Product;
 import com.ecommerce.api.exception.ResourceNotFoundException;
+import com.ecommerce.api.inventory.HotInventoryLedger;
 import com.ecommerce.api.repository.ProductRepository;
+import com.ecommerce.api.search.ProductSearchIndex;
+import com.ecommerce.api.search.SearchResult;
+import com.ecommerce.api.util.CursorCodec;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed("ecommerce.service")
 public class ProductService {
 
     private final ProductRepository productRepository;
+    private final ProductCatalogCache catalogCache;
+    private final SecondLevelCacheStats secondLevelCacheStats;
+    private final ProductSearchIndex searchIndex;
+    private final HotInventoryLedger hotInventoryLedger;
+    private final InventoryService inventoryService;
 
-    public List<Product> getAllProducts() {
-        return productRepository.findAll();
+    @Value("${pagination.default-size:20}")
+    private int defaultPageSize;
+
+    @Value("${pagination.max-size:100}")
+    private int maxPageSize;
+
+    @Value("${search.default-limit:20}")
+    private int defaultSearchLimit;
+
+    @Value("${search.max-limit:100}")
+    private int maxSearchLimit;
+
+    @Transactional(readOnly = true)
+    public CursorPage<ProductResponse> getAllProducts(String cursor, Integer size) {
+        int pageSize = CursorCodec.pageSize(size, defaultPageSize, maxPageSize);
+        Long afterId = cursor == null ? 0L : CursorCodec.decodeId(cursor);
+
+        return catalogCache.getPage(afterId, pageSize, () -> toPage(
+                productRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.ofSize(pageSize + 1)),
+                pageSize
+        ));
     }
 
-    public Product getProductById(Long id) {
-        return productRepository.findById(id)
+    @Transactional(readOnly = true)
+    public ProductResponse getProductById(Long id) {
+        ProductResponse product = catalogCache.getProduct(id, key -> productRepository.findById(key)
+                .map(this::toResponse)
+                .orElse(null));
+        if (product == null) {
+            throw new ResourceNotFoundException("Product not found with id: " + id);
+        }
+        return product;
+    }
+
+    /**
+     * Version to compare against If-None-Match: taken from the cached product
+     * when there is one, otherwise read on its own without loading the entity.
+     */
+    @Transactional(readOnly = true)
+    public Long getProductVersion(Long id) {
+        ProductResponse cached = catalogCache.peekProduct(id);
+        if (cached != null) {
+            return cached.getVersion();
+        }
+        return productRepository.findVersionById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
     }
 
-    public List<Product> searchProducts(String name) {
-        return productRepository.findByNameContainingIgnoreCase(name);
+    public Map<String, Object> getCacheStats() {
+        Map<String, Object> stats = new LinkedHashMap<>(catalogCache.statsSummary());
+        stats.put("secondLevel", secondLevelCacheStats.statsSummary());
+        return stats;
+    }
+
+    /**
+     * Searches the index and loads the hits. Hits that are gone from the table
+     * are dropped from the index, and hits whose version moved on are
+     * reindexed, which heals changes made by other instances before the next
+     * refresh.
+     */
+    @Transactional(readOnly = true)
+    public SearchResult<ProductResponse> searchProducts(String query, Integer limit) {
+        int resultLimit = CursorCodec.pageSize(limit, defaultSearchLimit, maxSearchLimit);
+        if (!searchIndex.isReady()) {
+            return new SearchResult<>(productRepository.findByNameContainingIgnoreCase(query).stream()
+                    .limit(resultLimit)
+                    .map(this::toResponse)
+                    .toList(), false);
+        }
+
+        SearchResult<Long> hits = searchIndex.search(query, resultLimit);
+        if (hits.items().isEmpty()) {
+            return new SearchResult<>(List.of(), hits.truncated());
+        }
+        Map<Long, Product> productsById = productRepository.findAllById(hits.items()).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        List<ProductResponse> products = new ArrayList<>(productsById.size());
+        for (Long id : hits.items()) {
+            Product product = productsById.get(id);
+            if (product == null) {
+                searchIndex.remove(id);
+            } else {
+                searchIndex.index(product);
+                products.add(toResponse(product));
+            }
+        }
+        return new SearchResult<>(products, hits.truncated());
     }
 
     @Transactional
@@ -38,36 +138,103 @@ public class ProductService {
                 .stockQuantity(productRequest.getStockQuantity())
                 .build();
 
-        return productRepository.save(product);
+        Product savedProduct = productRepository.save(product);
+        catalogCache.evict(savedProduct.getId());
+        searchIndex.indexAfterCommit(savedProduct);
+        return savedProduct;
     }
 
     @Transactional
     public Product updateProduct(Long id, ProductRequest productRequest) {
-        Product product = getProductById(id);
+        Product product = findProduct(id);
 
         product.setName(productRequest.getName());
         product.setDescription(productRequest.getDescription());
         product.setPrice(productRequest.getPrice());
         product.setStockQuantity(productRequest.getStockQuantity());
 
-        return productRepository.save(product);
+        Product savedProduct = productRepository.save(product);
+        catalogCache.evict(id);
+        searchIndex.indexAfterCommit(savedProduct);
+        resetHotStockAfterCommit(savedProduct);
+        return savedProduct;
     }
 
     @Transactional
     public void deleteProduct(Long id) {
-        Product product = getProductById(id);
+        Product product = findProduct(id);
         productRepository.delete(product);
+        catalogCache.evict(id);
+        searchIndex.removeAfterCommit(id);
+        if (product.isHot()) {
+            afterCommit(() -> hotInventoryLedger.untrack(id));
+        }
     }
 
     @Transactional
     public Product updateStock(Long id, Integer quantity) {
-        Product product = getProductById(id);
+        Product product = findProduct(id);
 
         if (quantity < 0) {
             throw new IllegalArgumentException("Stock quantity cannot be negative");
         }
 
         product.setStockQuantity(quantity);
-        return productRepository.save(product);
+        Product savedProduct = productRepository.save(product);
+        catalogCache.evict(id);
+        resetHotStockAfterCommit(savedProduct);
+        return savedProduct;
+    }
+
+    @Transactional
+    public Product setHot(Long id, boolean hot) {
+        Product product = findProduct(id);
+
+        product.setHot(hot);
+        Product savedProduct = productRepository.save(product);
+        catalogCache.evict(id);
+        afterCommit(hot ? () -> hotInventoryLedger.track(id) : () -> hotInventoryLedger.untrack(id));
+        return savedProduct;
+    }
+
+    /**
+     * The product as the API returns it, with the units the hot inventory
+     * ledger holds counted in its stock.
+     */
+    public ProductResponse toResponse(Product product) {
+        return ProductResponse.from(product, inventoryService.availableStock(product));
+    }
+
+    private Product findProduct(Long id) {
+        return productRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
+    }
+
+    /**
+     * An absolute stock value replaces the units held in memory, otherwise they
+     * would be written back on top of it.
+     */
+    private void resetHotStockAfterCommit(Product product) {
+        if (product.isHot()) {
+            afterCommit(() -> hotInventoryLedger.resetStock(product.getId()));
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private CursorPage<ProductResponse> toPage(List<Product> rows, int pageSize) {
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows.stream().map(this::toResponse).toList(), null, rows.size());
+        }
+        List<Product> items = rows.subList(0, pageSize);
+        String nextCursor = CursorCodec.encode(items.get(pageSize - 1).getId());
+        return new CursorPage<>(items.stream().map(this::toResponse).toList(), nextCursor, pageSize);
     }
 }
\ No newline at end of file
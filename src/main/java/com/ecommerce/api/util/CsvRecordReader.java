@@ -0,0 +1,114 @@
+package com.ecommerce.api.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.*;
+
+/**
+ * Reads RFC 4180 style CSV one record at a time: comma separated, fields
+ * optionally in double quotes, a doubled quote inside a quoted field, and
+ * line breaks inside quotes kept as part of the field. The first record is
+ * the header; fields are looked up by header name, ignoring case.
+ */
+public final class CsvRecordReader {
+
+    private final Reader reader;
+    private final Map<String, Integer> columns = new HashMap<>();
+
+    public CsvRecordReader(Reader reader) throws IOException {
+        this.reader = reader instanceof BufferedReader ? reader : new BufferedReader(reader);
+        List<String> header = readRecord();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV input is empty, a header row is required");
+        }
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+    }
+
+    public void requireColumns(String... names) {
+        for (String name : names) {
+            if (!columns.containsKey(name.toLowerCase(Locale.ROOT))) {
+                throw new IllegalArgumentException("CSV header is missing column '" + name + "'");
+            }
+        }
+    }
+
+    /**
+     * The next record, or null at the end of the input.
+     */
+    public Record next() throws IOException {
+        List<String> fields = readRecord();
+        return fields == null ? null : new Record(fields);
+    }
+
+    private List<String> readRecord() throws IOException {
+        int c = read();
+        while (c == '\r' || c == '\n') {
+            c = read();
+        }
+        if (c == -1) {
+            return null;
+        }
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IllegalArgumentException("CSV input ends inside a quoted field");
+                }
+                if (c == '"') {
+                    int following = read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = following;
+                        continue;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == '\r' || c == -1) {
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    private int read() throws IOException {
+        return reader.read();
+    }
+
+    public final class Record {
+
+        private final List<String> fields;
+
+        private Record(List<String> fields) {
+            this.fields = fields;
+        }
+
+        /**
+         * The trimmed field, or null when the column is missing or blank.
+         */
+        public String get(String column) {
+            Integer index = columns.get(column.toLowerCase(Locale.ROOT));
+            if (index == null || index >= fields.size()) {
+                return null;
+            }
+            String value = fields.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.ecommerce.api.util;
+
+import com.ecommerce.api.dto.response.CursorPage;
+import com.ecommerce.api.dto.response.ProductResponse;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Entity tags for catalog responses, derived from product versions. Every
+ * instance computes the same tag for the same data, so a tag issued by one
+ * instance can be revalidated on another.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static String product(Long id, Long version) {
+        return "p" + id + "-" + version;
+    }
+
+    /**
+     * Covers the ids and versions of the products on the page and the next
+     * cursor, so any change, addition or removal on the page gives a new tag.
+     */
+    public static String catalogPage(CursorPage<ProductResponse> page) {
+        StringBuilder key = new StringBuilder(page.getItems().size() * 12);
+        for (ProductResponse product : page.getItems()) {
+            key.append(product.getId()).append(':').append(product.getVersion()).append(',');
+        }
+        key.append(page.getNextCursor());
+        return "c" + DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,174 @@
+package com.ecommerce.api.web;
+
+import com.ecommerce.api.dto.response.ErrorResponse;
+import com.ecommerce.api.security.UserPrincipal;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Token-bucket rate limiting per route and user, placed right after the JWT
+ * filter so authenticated requests are limited by user id and anonymous ones
+ * by client address. Requests over the limit get 429 with Retry-After before
+ * any controller, transaction or connection is involved.
+ * <p>
+ * Each bucket is a single atomic long holding the time at which it would be
+ * full again (the generic cell rate algorithm), updated with compare-and-set,
+ * so checking a request takes no lock and no clock thread. Buckets live in a
+ * size-bounded cache and are dropped once idle, at which point they would be
+ * full anyway.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimitProperties properties;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    private List<Limit> limits;
+    private Cache<String, AtomicLong> buckets;
+
+    @PostConstruct
+    public void init() {
+        limits = new ArrayList<>();
+        for (RateLimitProperties.Route route : properties.getRoutes()) {
+            if (route.getCapacity() < 1 || route.getRefillPerSecond() <= 0) {
+                throw new IllegalStateException("Rate limit for " + route.getPattern()
+                        + " needs a capacity of at least 1 and a positive refill rate");
+            }
+            limits.add(new Limit(limits.size(), route, meterRegistry));
+        }
+        buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxBuckets())
+                .expireAfterAccess(Duration.ofSeconds(properties.getIdleEvictionSeconds()))
+                .build();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || limits.isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Limit limit = match(request);
+        if (limit != null) {
+            AtomicLong bucket = buckets.get(limit.index + "|" + clientKey(request), key -> new AtomicLong());
+            long waitNanos = limit.tryAcquire(bucket, System.nanoTime());
+            if (waitNanos > 0) {
+                limit.rejected.increment();
+                reject(response, waitNanos);
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private Limit match(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        for (Limit limit : limits) {
+            if ((limit.methods.isEmpty() || limit.methods.contains(request.getMethod()))
+                    && limit.pattern.matches(path)) {
+                return limit;
+            }
+        }
+        return null;
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return "u" + principal.getId();
+        }
+        return "ip" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                "Too many requests, please slow down",
+                LocalDateTime.now()
+        );
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER,
+                String.valueOf(Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1))));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    private static final class Limit {
+
+        private final int index;
+        private final PathPattern pattern;
+        private final Set<String> methods;
+        private final long intervalNanos;
+        private final long burstNanos;
+        private final Counter rejected;
+
+        private Limit(int index, RateLimitProperties.Route route, MeterRegistry meterRegistry) {
+            this.index = index;
+            this.pattern = PathPatternParser.defaultInstance.parse(route.getPattern());
+            this.methods = route.getMethods().stream()
+                    .map(method -> method.trim().toUpperCase(Locale.ROOT))
+                    .collect(Collectors.toUnmodifiableSet());
+            this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / route.getRefillPerSecond()));
+            this.burstNanos = intervalNanos * route.getCapacity();
+            this.rejected = Counter.builder("http.rate.limited")
+                    .description("Requests turned away by the rate limiter")
+                    .tag("route", route.getPattern())
+                    .register(meterRegistry);
+        }
+
+        /**
+         * Takes one token. The bucket stores when it would be full again, as a
+         * nanoTime value; 0 means full. Returns 0 if the request may go ahead,
+         * otherwise how long until a token is available.
+         */
+        private long tryAcquire(AtomicLong bucket, long now) {
+            while (true) {
+                long fullAt = bucket.get();
+                long base = fullAt == 0 || fullAt - now < 0 ? now : fullAt;
+                long next = base + intervalNanos;
+                long wait = next - now - burstNanos;
+                if (wait > 0) {
+                    return wait;
+                }
+                if (bucket.compareAndSet(fullAt, next)) {
+                    return 0;
+                }
+            }
+        }
+    }
+}
\ No newline at end of file
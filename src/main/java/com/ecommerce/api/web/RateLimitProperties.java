@@ -0,0 +1,45 @@
+package com.ecommerce.api.web;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Request rate limits per route. A request is counted against the first
+ * route whose pattern and method match, in a bucket of its own per user, or
+ * per client address when it is not authenticated.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /** Buckets kept at most; the least recently used are dropped first. */
+    private long maxBuckets = 100_000;
+
+    /** A bucket not used for this long is full again and is dropped. */
+    private long idleEvictionSeconds = 600;
+
+    private List<Route> routes = new ArrayList<>();
+
+    @Data
+    public static class Route {
+
+        /** Path pattern, e.g. /api/cart/**. */
+        private String pattern;
+
+        /** HTTP methods the limit applies to; empty for all. */
+        private List<String> methods = new ArrayList<>();
+
+        /** Requests allowed in a burst. */
+        private int capacity;
+
+        /** Sustained requests per second. */
+        private double refillPerSecond;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,52 @@
+package com.ecommerce.api;
+
+import com.ecommerce.api.entity.Cart;
+import com.ecommerce.api.entity.CartItem;
+import com.ecommerce.api.entity.Product;
+import com.ecommerce.api.entity.User;
+import com.ecommerce.api.enums.Role;
+import com.ecommerce.api.repository.CartItemRepository;
+import com.ecommerce.api.repository.CartRepository;
+import com.ecommerce.api.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Creates customers with a filled cart for the checkout tests.
+ */
+@Component
+@RequiredArgsConstructor
+public class TestShoppers {
+
+    private final UserRepository userRepository;
+    private final CartRepository cartRepository;
+    private final CartItemRepository cartItemRepository;
+
+    public Long buyerWithCart(String username, Product product) {
+        return buyerWithCart(username, List.of(product), 1);
+    }
+
+    /**
+     * Returns the id of a new customer whose cart holds the quantity of each
+     * product.
+     */
+    public Long buyerWithCart(String username, List<Product> products, int quantity) {
+        User user = userRepository.save(User.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .password("not-used")
+                .role(Role.CUSTOMER)
+                .build());
+        Cart cart = cartRepository.save(Cart.builder().user(user).build());
+        for (Product product : products) {
+            cartItemRepository.save(CartItem.builder()
+                    .cart(cart)
+                    .product(product)
+                    .quantity(quantity)
+                    .build());
+        }
+        return user.getId();
+    }
+}
\ No newline at end of file
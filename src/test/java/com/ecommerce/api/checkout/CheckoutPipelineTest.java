@@ -0,0 +1,115 @@
+package com.ecommerce.api.checkout;
+
+import com.ecommerce.api.TestShoppers;
+import com.ecommerce.api.dto.response.OrderResponse;
+import com.ecommerce.api.entity.Order;
+import com.ecommerce.api.entity.Product;
+import com.ecommerce.api.enums.OrderStatus;
+import com.ecommerce.api.exception.InsufficientStockException;
+import com.ecommerce.api.repository.CartRepository;
+import com.ecommerce.api.repository.OrderRepository;
+import com.ecommerce.api.repository.ProductRepository;
+import com.ecommerce.api.service.OrderService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CheckoutPipelineTest {
+
+    private static final int INITIAL_STOCK = 100;
+    private static final int BUYERS = 300;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private TestShoppers testShoppers;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Test
+    void queuedOrdersAreSettledWithoutOverselling() throws Exception {
+        Product product = productRepository.save(Product.builder()
+                .name("Queued flash sale item")
+                .price(new BigDecimal("4.99"))
+                .stockQuantity(INITIAL_STOCK)
+                .build());
+
+        List<Long> buyerIds = new ArrayList<>();
+        for (int i = 0; i < BUYERS; i++) {
+            buyerIds.add(testShoppers.buyerWithCart("queued-buyer" + i, product));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<OrderResponse>> futures = new ArrayList<>();
+        for (Long buyerId : buyerIds) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return orderService.queueOrder(buyerId);
+            }));
+        }
+
+        start.countDown();
+        List<Long> orderIds = new ArrayList<>();
+        int turnedAway = 0;
+        for (Future<OrderResponse> future : futures) {
+            try {
+                OrderResponse order = future.get(60, TimeUnit.SECONDS);
+                assertThat(order.getStatus()).isEqualTo(OrderStatus.QUEUED);
+                orderIds.add(order.getId());
+            } catch (ExecutionException e) {
+                // Workers may sell out before the last buyers queue
+                assertThat(e.getCause()).isInstanceOf(InsufficientStockException.class);
+                turnedAway++;
+            }
+        }
+        executor.shutdown();
+
+        Map<OrderStatus, Long> statuses = awaitSettled(orderIds);
+        int remainingStock = productRepository.findById(product.getId()).orElseThrow().getStockQuantity();
+
+        assertThat(remainingStock).isZero();
+        assertThat(statuses.get(OrderStatus.PENDING)).isEqualTo(INITIAL_STOCK);
+        assertThat(statuses.getOrDefault(OrderStatus.REJECTED, 0L) + turnedAway).isEqualTo(BUYERS - INITIAL_STOCK);
+
+        // Rejected and turned away buyers keep their cart lines
+        long buyersWithCartLines = buyerIds.stream()
+                .filter(buyerId -> !cartRepository.findWithItemsByUserId(buyerId).orElseThrow().getItems().isEmpty())
+                .count();
+        assertThat(buyersWithCartLines).isEqualTo(BUYERS - INITIAL_STOCK);
+    }
+
+    private Map<OrderStatus, Long> awaitSettled(List<Long> orderIds) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (true) {
+            Map<OrderStatus, Long> statuses = orderRepository.findAllById(orderIds).stream()
+                    .map(Order::getStatus)
+                    .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+            if (!statuses.containsKey(OrderStatus.QUEUED) || System.nanoTime() > deadline) {
+                return statuses;
+            }
+            Thread.sleep(50);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,72 @@
+package com.ecommerce.api.checkout;
+
+import com.ecommerce.api.TestShoppers;
+import com.ecommerce.api.dto.response.OrderResponse;
+import com.ecommerce.api.entity.Product;
+import com.ecommerce.api.repository.OrderRepository;
+import com.ecommerce.api.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class IdempotentCheckoutTest {
+
+    private static final int RETRIES = 20;
+
+    @Autowired
+    private IdempotentCheckout idempotentCheckout;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TestShoppers testShoppers;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Test
+    void concurrentRetriesPlaceOneOrder() throws Exception {
+        Product product = productRepository.save(Product.builder()
+                .name("Idempotent checkout item")
+                .price(new BigDecimal("7.50"))
+                .stockQuantity(10)
+                .build());
+        Long userId = testShoppers.buyerWithCart("retrying-buyer", List.of(product), 2);
+
+        ExecutorService executor = Executors.newFixedThreadPool(RETRIES);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<OrderResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < RETRIES; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return idempotentCheckout.placeOrder(userId, "checkout-attempt-1");
+            }));
+        }
+
+        start.countDown();
+        Set<Long> orderIds = new HashSet<>();
+        for (Future<OrderResponse> future : futures) {
+            orderIds.add(future.get(30, TimeUnit.SECONDS).getId());
+        }
+        executor.shutdown();
+
+        assertThat(orderIds).hasSize(1);
+        // A page of two would show a duplicate order
+        assertThat(orderRepository.findByUserIdOrderByCreatedAtDescIdDesc(userId, PageRequest.ofSize(2))).hasSize(1);
+        assertThat(productRepository.findById(product.getId()).orElseThrow().getStockQuantity()).isEqualTo(8);
+    }
+}
\ No newline at end of file
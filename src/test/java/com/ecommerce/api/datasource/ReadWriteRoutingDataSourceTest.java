@@ -0,0 +1,103 @@
+package com.ecommerce.api.datasource;
+
+import com.ecommerce.api.enums.Role;
+import com.ecommerce.api.security.UserPrincipal;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two embedded H2 databases stand in for the primary and a replica; each
+ * holds a row naming itself, so a query shows where it was routed.
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = database("primary");
+        DataSource replica = database("replica");
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(
+                primary, List.of(replica), Duration.ofMinutes(1), 1000);
+        routing.afterPropertiesSet();
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplica() {
+        assertThat(servedBy(readOnly)).isEqualTo("replica");
+        assertThat(servedBy(readWrite)).isEqualTo("primary");
+    }
+
+    @Test
+    void userReadsFromPrimaryAfterOwnCommittedWrite() {
+        signIn(1L);
+        readWrite.executeWithoutResult(status -> servedBy());
+        assertThat(servedBy(readOnly)).isEqualTo("primary");
+
+        signIn(2L);
+        assertThat(servedBy(readOnly)).isEqualTo("replica");
+    }
+
+    @Test
+    void rolledBackWriteDoesNotPinUserToPrimary() {
+        signIn(1L);
+        readWrite.executeWithoutResult(status -> {
+            servedBy();
+            status.setRollbackOnly();
+        });
+        assertThat(servedBy(readOnly)).isEqualTo("replica");
+    }
+
+    private String servedBy(TransactionTemplate transaction) {
+        return transaction.execute(status -> servedBy());
+    }
+
+    private String servedBy() {
+        return jdbcTemplate.queryForObject("select name from served_by", String.class);
+    }
+
+    private static void signIn(Long userId) {
+        UserPrincipal principal = UserPrincipal.fromClaims(userId, "user" + userId, Role.CUSTOMER);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    private static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table if not exists served_by (name varchar(20))");
+        jdbcTemplate.update("delete from served_by");
+        jdbcTemplate.update("insert into served_by (name) values (?)", name);
+        return dataSource;
+    }
+}
\ No newline at end of file
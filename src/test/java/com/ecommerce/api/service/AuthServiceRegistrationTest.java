@@ -0,0 +1,57 @@
+package com.ecommerce.api.service;
+
+import com.ecommerce.api.dto.request.RegisterRequest;
+import com.ecommerce.api.entity.User;
+import com.ecommerce.api.exception.DuplicateResourceException;
+import com.ecommerce.api.repository.CartRepository;
+import com.ecommerce.api.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AuthServiceRegistrationTest {
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Test
+    void registerCreatesUserWithCart() {
+        authService.register(request("new-shopper", "new-shopper@example.com"));
+
+        User user = userRepository.findByUsername("new-shopper").orElseThrow();
+        assertThat(cartRepository.findWithItemsByUserId(user.getId())).isPresent();
+    }
+
+    @Test
+    void duplicatesAreReportedPerConstraint() {
+        authService.register(request("taken-name", "taken@example.com"));
+
+        assertThatThrownBy(() -> authService.register(request("taken-name", "other@example.com")))
+                .isInstanceOf(DuplicateResourceException.class)
+                .hasMessageContaining("Username");
+        assertThatThrownBy(() -> authService.register(request("other-name", "taken@example.com")))
+                .isInstanceOf(DuplicateResourceException.class)
+                .hasMessageContaining("Email");
+        assertThat(userRepository.existsByUsername("other-name")).isFalse();
+    }
+
+    private static RegisterRequest request(String username, String email) {
+        RegisterRequest request = new RegisterRequest();
+        request.setUsername(username);
+        request.setEmail(email);
+        request.setPassword("secret-password");
+        return request;
+    }
+}
\ No newline at end of file
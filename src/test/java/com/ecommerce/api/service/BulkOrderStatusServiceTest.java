@@ -0,0 +1,125 @@
+package com.ecommerce.api.service;
+
+import com.ecommerce.api.dto.request.BulkOrderStatusRequest;
+import com.ecommerce.api.dto.response.BulkStatusChangeResponse;
+import com.ecommerce.api.dto.response.OrderStatusChange;
+import com.ecommerce.api.dto.response.OrderStatusChange.Outcome;
+import com.ecommerce.api.entity.Order;
+import com.ecommerce.api.entity.User;
+import com.ecommerce.api.enums.OrderStatus;
+import com.ecommerce.api.enums.Role;
+import com.ecommerce.api.repository.OrderRepository;
+import com.ecommerce.api.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class BulkOrderStatusServiceTest {
+
+    @Autowired
+    private BulkOrderStatusService bulkOrderStatusService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void reportsAnOutcomePerOrder() {
+        User user = customer("bulk-status-ids");
+        Long pending = order(user, OrderStatus.PENDING);
+        Long shipped = order(user, OrderStatus.SHIPPED);
+        Long delivered = order(user, OrderStatus.DELIVERED);
+
+        BulkOrderStatusRequest request = new BulkOrderStatusRequest();
+        request.setStatus(OrderStatus.SHIPPED);
+        request.setOrderIds(List.of(pending, shipped, delivered, Long.MAX_VALUE));
+        BulkStatusChangeResponse response = bulkOrderStatusService.changeStatus(request);
+
+        assertThat(response.getResults()).extracting(OrderStatusChange::getOutcome).containsExactly(
+                Outcome.UPDATED, Outcome.UNCHANGED, Outcome.INVALID_TRANSITION, Outcome.NOT_FOUND);
+        assertThat(response.getUpdated()).isEqualTo(1);
+        assertThat(response.getUnchanged()).isEqualTo(1);
+        assertThat(response.getFailed()).isEqualTo(2);
+        assertThat(orderRepository.findById(pending).orElseThrow().getStatus()).isEqualTo(OrderStatus.SHIPPED);
+        assertThat(orderRepository.findById(delivered).orElseThrow().getStatus()).isEqualTo(OrderStatus.DELIVERED);
+    }
+
+    @Test
+    void movesOrdersSelectedByCurrentStatus() {
+        User user = customer("bulk-status-filter");
+        Long first = order(user, OrderStatus.SHIPPED);
+        Long second = order(user, OrderStatus.SHIPPED);
+        Long cutoffOrder = order(user, OrderStatus.SHIPPED);
+
+        BulkOrderStatusRequest request = new BulkOrderStatusRequest();
+        request.setStatus(OrderStatus.DELIVERED);
+        request.setCurrentStatus(OrderStatus.SHIPPED);
+        request.setCreatedBefore(orderRepository.findById(cutoffOrder).orElseThrow().getCreatedAt());
+        BulkStatusChangeResponse response = bulkOrderStatusService.changeStatus(request);
+
+        assertThat(response.getResults()).extracting(OrderStatusChange::getOrderId).contains(first, second)
+                .doesNotContain(cutoffOrder);
+        assertThat(response.getResults()).extracting(OrderStatusChange::getOutcome).containsOnly(Outcome.UPDATED);
+        assertThat(orderRepository.findById(second).orElseThrow().getStatus()).isEqualTo(OrderStatus.DELIVERED);
+        assertThat(orderRepository.findById(cutoffOrder).orElseThrow().getStatus()).isEqualTo(OrderStatus.SHIPPED);
+    }
+
+    @Test
+    void refusesTransitionsThatAreNeverAllowed() {
+        BulkOrderStatusRequest request = new BulkOrderStatusRequest();
+        request.setStatus(OrderStatus.SHIPPED);
+        request.setCurrentStatus(OrderStatus.DELIVERED);
+
+        assertThatThrownBy(() -> bulkOrderStatusService.changeStatus(request))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void singleOrderUpdateFollowsTheSameTransitions() {
+        User user = customer("single-status");
+        Long delivered = order(user, OrderStatus.DELIVERED);
+        Long pending = order(user, OrderStatus.PENDING);
+
+        assertThatThrownBy(() -> orderService.updateOrderStatus(delivered, OrderStatus.PENDING))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(orderService.updateOrderStatus(pending, OrderStatus.SHIPPED).getStatus()).isEqualTo(OrderStatus.SHIPPED);
+        assertThat(orderRepository.findById(delivered).orElseThrow().getStatus()).isEqualTo(OrderStatus.DELIVERED);
+    }
+
+    private User customer(String username) {
+        return userRepository.save(User.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .password("not-used")
+                .role(Role.CUSTOMER)
+                .build());
+    }
+
+    private Long order(User user, OrderStatus status) {
+        Order order = orderRepository.save(Order.builder()
+                .user(user)
+                .totalAmount(new BigDecimal("10.00"))
+                .status(status)
+                .build());
+        // Distinct creation times for the createdBefore cut-off
+        while (!LocalDateTime.now().isAfter(order.getCreatedAt())) {
+            Thread.onSpinWait();
+        }
+        return order.getId();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,120 @@
+package com.ecommerce.api.service;
+
+import com.ecommerce.api.TestShoppers;
+import com.ecommerce.api.entity.Product;
+import com.ecommerce.api.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.util.ClassUtils;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counts JDBC round trips (statement executions, a batch counting once) for a
+ * checkout, to show the cost no longer grows with the number of cart lines.
+ * Sequence fetches are left out: with an allocation size of 50 they are
+ * amortized and depend on which ids earlier inserts already consumed.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:statement-count;MODE=PostgreSQL;"
+        + "DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;LOCK_TIMEOUT=30000")
+class CheckoutStatementCountTest {
+
+    private static final AtomicInteger ROUND_TRIPS = new AtomicInteger();
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TestShoppers testShoppers;
+
+    @Test
+    void checkoutRoundTripsDoNotGrowWithCartLines() {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            products.add(productRepository.save(Product.builder()
+                    .name("Statement count item " + i)
+                    .price(new BigDecimal("5.00"))
+                    .stockQuantity(100)
+                    .build()));
+        }
+
+        orderService.placeOrder(testShoppers.buyerWithCart("warmup", products.subList(0, 1), 1));
+
+        int oneLine = countRoundTrips(testShoppers.buyerWithCart("one-line", products.subList(0, 1), 1));
+        int thirtyLines = countRoundTrips(testShoppers.buyerWithCart("thirty-lines", products, 1));
+
+        // load cart, batched stock update, insert order, batched insert of items, batched cart clear
+        assertThat(oneLine).isEqualTo(5);
+        assertThat(thirtyLines).isEqualTo(5);
+    }
+
+    private int countRoundTrips(Long userId) {
+        ROUND_TRIPS.set(0);
+        orderService.placeOrder(userId);
+        return ROUND_TRIPS.get();
+    }
+
+    @TestConfiguration
+    static class RoundTripCountingConfig {
+
+        @Bean
+        static BeanPostProcessor roundTripCountingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource && !(bean instanceof DelegatingDataSource)) {
+                        return new DelegatingDataSource(dataSource) {
+                            @Override
+                            public Connection getConnection() throws SQLException {
+                                return countingProxy(Connection.class, super.getConnection());
+                            }
+                        };
+                    }
+                    return bean;
+                }
+            };
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T countingProxy(Class<T> type, T target) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), ClassUtils.getAllInterfaces(target), (proxy, method, args) -> {
+                try {
+                    Object result = method.invoke(target, args);
+                    if (result instanceof Statement statement && method.getName().endsWith("Statement")
+                            && !(args != null && args[0] instanceof String sql && sql.startsWith("select next value for"))) {
+                        return countingProxy(Statement.class, statement);
+                    }
+                    if (target instanceof Statement && method.getName().startsWith("execute")) {
+                        ROUND_TRIPS.incrementAndGet();
+                    }
+                    return result;
+                } catch (InvocationTargetException e) {
+                    throw e.getTargetException();
+                }
+            });
+        }
+    }
+}
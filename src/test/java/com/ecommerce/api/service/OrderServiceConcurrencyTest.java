@@ -0,0 +1,131 @@
+package com.ecommerce.api.service;
+
+import com.ecommerce.api.TestShoppers;
+import com.ecommerce.api.entity.Product;
+import com.ecommerce.api.exception.InsufficientStockException;
+import com.ecommerce.api.inventory.HotInventoryLedger;
+import com.ecommerce.api.repository.OrderItemRepository;
+import com.ecommerce.api.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderServiceConcurrencyTest {
+
+    private static final int INITIAL_STOCK = 100;
+    private static final int BUYERS = 300;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TestShoppers testShoppers;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private HotInventoryLedger hotInventoryLedger;
+
+    @Test
+    void parallelCheckoutsNeverOversell() throws Exception {
+        Product product = productRepository.save(Product.builder()
+                .name("Flash sale item")
+                .price(new BigDecimal("9.99"))
+                .stockQuantity(INITIAL_STOCK)
+                .build());
+
+        List<Long> buyerIds = new ArrayList<>();
+        for (int i = 0; i < BUYERS; i++) {
+            buyerIds.add(testShoppers.buyerWithCart("buyer" + i, product));
+        }
+
+        AtomicInteger placed = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        checkoutConcurrently(buyerIds, placed, rejected);
+
+        int remainingStock = productRepository.findById(product.getId()).orElseThrow().getStockQuantity();
+        int unitsOrdered = orderItemRepository.findAll().stream()
+                .filter(orderItem -> orderItem.getProduct().getId().equals(product.getId()))
+                .mapToInt(orderItem -> orderItem.getQuantity())
+                .sum();
+
+        assertThat(remainingStock).isZero();
+        assertThat(placed.get()).isEqualTo(INITIAL_STOCK);
+        assertThat(rejected.get()).isEqualTo(BUYERS - INITIAL_STOCK);
+        assertThat(unitsOrdered).isEqualTo(INITIAL_STOCK);
+    }
+
+    @Test
+    void parallelCheckoutsOfHotProductNeverOversell() throws Exception {
+        Product product = productRepository.save(Product.builder()
+                .name("Hot flash sale item")
+                .price(new BigDecimal("9.99"))
+                .stockQuantity(INITIAL_STOCK)
+                .hot(true)
+                .build());
+        hotInventoryLedger.track(product.getId());
+
+        List<Long> buyerIds = new ArrayList<>();
+        for (int i = 0; i < BUYERS; i++) {
+            buyerIds.add(testShoppers.buyerWithCart("hot-buyer" + i, product));
+        }
+
+        AtomicInteger placed = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        try {
+            checkoutConcurrently(buyerIds, placed, rejected);
+        } finally {
+            hotInventoryLedger.untrack(product.getId());
+        }
+
+        int remainingStock = productRepository.findById(product.getId()).orElseThrow().getStockQuantity();
+        int unitsOrdered = orderItemRepository.findAll().stream()
+                .filter(orderItem -> orderItem.getProduct().getId().equals(product.getId()))
+                .mapToInt(orderItem -> orderItem.getQuantity())
+                .sum();
+
+        assertThat(placed.get() + rejected.get()).isEqualTo(BUYERS);
+        assertThat(unitsOrdered).isEqualTo(placed.get());
+        assertThat(unitsOrdered + remainingStock).isEqualTo(INITIAL_STOCK);
+    }
+
+    private void checkoutConcurrently(List<Long> buyerIds, AtomicInteger placed, AtomicInteger rejected) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (Long buyerId : buyerIds) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    orderService.placeOrder(buyerId);
+                    placed.incrementAndGet();
+                } catch (InsufficientStockException e) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+    }
+}